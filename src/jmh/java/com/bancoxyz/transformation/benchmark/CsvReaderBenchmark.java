@@ -0,0 +1,94 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.core.io.FileSystemResource;
+
+import com.bancoxyz.transformation.mapper.TransactionRecordMapper;
+import com.bancoxyz.transformation.model.input.TransactionInput;
+import com.bancoxyz.transformation.reader.ConcurrentBlockItemReader;
+import com.bancoxyz.transformation.reader.MappedCsvItemReader;
+import com.bancoxyz.transformation.reader.TransactionItemReader;
+
+/**
+ * Lectura completa de un archivo de transacciones con cada implementación de reader,
+ * en un solo hilo: FlatFileItemReader original, reader por bloques y reader mapeado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvReaderBenchmark {
+
+  private static final int TRANSACTION_FIELDS = 4;
+
+  @Param({"100000"})
+  private int rows;
+
+  private Path file;
+  private FileSystemResource resource;
+
+  @Setup(Level.Trial)
+  public void generate() throws Exception {
+    file = SyntheticCsv.transactions(Files.createTempFile("transacciones", ".csv"), rows);
+    resource = new FileSystemResource(file);
+  }
+
+  @TearDown(Level.Trial)
+  public void delete() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public long flatFileItemReader(Blackhole blackhole) throws Exception {
+    FlatFileItemReader<TransactionInput> reader = TransactionItemReader.builder(resource).build();
+    return readAll(reader, blackhole);
+  }
+
+  @Benchmark
+  public long blockReader(Blackhole blackhole) throws Exception {
+    return readAll(new ConcurrentBlockItemReader<>("bench", resource, 1, TransactionItemReader.lineMapper(), 100), blackhole);
+  }
+
+  @Benchmark
+  public long mappedReader(Blackhole blackhole) throws Exception {
+    return readAll(new MappedCsvItemReader<>("bench", resource, 1, TRANSACTION_FIELDS, new TransactionRecordMapper(), 100), blackhole);
+  }
+
+  private static long readAll(ItemStreamReader<TransactionInput> reader, Blackhole blackhole) throws Exception {
+    long count = 0;
+    reader.open(new ExecutionContext());
+    try {
+      TransactionInput item;
+      while ((item = reader.read()) != null) {
+        blackhole.consume(item);
+        count++;
+      }
+    } finally {
+      reader.close();
+    }
+    return count;
+  }
+
+}
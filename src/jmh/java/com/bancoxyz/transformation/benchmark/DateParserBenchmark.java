@@ -0,0 +1,74 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.bancoxyz.transformation.processor.DateParser;
+
+/**
+ * DateParser frente a la secuencia de DateTimeFormatter con try/catch que usaban los
+ * processors, sobre la misma mezcla de formatos que traen los archivos de data/.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DateParserBenchmark {
+
+  private static final List<DateTimeFormatter> FORMATTERS = List.of(
+    DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+    DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+    DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+    DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+    DateTimeFormatter.ofPattern("yyyy/MM/dd")
+  );
+
+  private static final String[] DATES = {
+    "2024-06-30", "03-04-2024", "24-07-2024", "04/05/2024", "11/13/2024", "2024/10/15", "31/02/2024", "fecha"
+  };
+
+  @Benchmark
+  @OperationsPerInvocation(8)
+  public void formatters(Blackhole blackhole) {
+    for (String date : DATES) {
+      blackhole.consume(parseWithFormatters(date));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(8)
+  public void dateParser(Blackhole blackhole) {
+    for (String date : DATES) {
+      blackhole.consume(DateParser.parse(date));
+    }
+  }
+
+  private static LocalDate parseWithFormatters(String value) {
+    for (DateTimeFormatter formatter : FORMATTERS) {
+      try {
+        return LocalDate.parse(value.trim(), formatter);
+      } catch (DateTimeParseException e) {
+        // siguiente formato
+      }
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,206 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bancoxyz.transformation.TransformationApplication;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
+
+/**
+ * Ejecución completa de cada job (lectura, proceso, escritura y archivo de errores) sobre
+ * archivos sintéticos de {@code rows} registros y una base H2 embebida en modo MySQL.
+ * Cada operación es una ejecución del job; las tablas se vacían antes de cada iteración
+ * (salvo con {@code replay=true}).
+ *
+ * El rendimiento en filas por segundo de cada step queda en target/benchmark.log
+ * (StepThroughputListener). Para una medición rápida: {@code -p rows=10000}.
+ *
+ * Cada ejecución registra también las sentencias SQL sobre las tablas BATCH_ del JobRepository
+ * (estadísticas de consultas de H2), en total y por millón de filas, para comparar los modos de
+ * {@code metadata}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IngestionBenchmark {
+
+  private static final Logger logger = LoggerFactory.getLogger(IngestionBenchmark.class);
+
+  @Param({"10000", "1000000", "10000000"})
+  private int rows;
+
+  @Param({"multi-threaded"})
+  private String stepMode;
+
+  @Param({"jpa"})
+  private String writer;
+
+  @Param({"skip", "filter"})
+  private String rejectionMode;
+
+  /** ingestion.metadata.mode: full o write-behind. */
+  @Param({"full"})
+  private String metadata;
+
+  /**
+   * Con true las tablas no se vacían entre iteraciones: tras la de calentamiento, cada ejecución
+   * vuelve a cargar filas que ya existen (writer jpa o upsert; jdbc falla por clave duplicada).
+   */
+  @Param({"false"})
+  private boolean replay;
+
+  private Path dir;
+  private ConfigurableApplicationContext context;
+  private TaskExecutorJobLauncher jobLauncher;
+  private JdbcTemplate jdbcTemplate;
+  private final List<Path> errorFiles = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void start() throws Exception {
+    dir = Files.createTempDirectory("ingestion-benchmark");
+    Path transactions = SyntheticCsv.transactions(dir.resolve("transacciones.csv"), rows);
+    Path interests = SyntheticCsv.interests(dir.resolve("intereses.csv"), rows);
+    Path annualAccounts = SyntheticCsv.annualAccounts(dir.resolve("cuentas_anuales.csv"), rows);
+
+    // Argumentos de línea de comandos: tienen prioridad sobre application.properties
+    context = new SpringApplicationBuilder(TransformationApplication.class)
+      .web(WebApplicationType.NONE)
+      .bannerMode(Banner.Mode.OFF)
+      .run(
+        "--spring.datasource.url=jdbc:h2:file:" + dir.resolve("db") + ";MODE=MySQL",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "--ingestion.transaction.input=file:" + transactions,
+        "--ingestion.interest.input=file:" + interests,
+        "--ingestion.annual-account.input=file:" + annualAccounts,
+        "--ingestion.transaction.writer=" + writer,
+        "--ingestion.staging-directory=" + dir.resolve("staging"),
+        "--ingestion.transaction.step-mode=" + stepMode,
+        // El job de intereses no tiene los modos pipelined ni remote
+        "--ingestion.interest.step-mode=" + (stepMode.equals("pipelined") || stepMode.equals("remote") ? "multi-threaded" : stepMode),
+        "--ingestion.annual-account.step-mode=" + (stepMode.equals("remote") ? "multi-threaded" : stepMode),
+        // Los archivos sintéticos mantienen la proporción de inválidos de data/, muy por encima de 1000
+        "--ingestion.transaction.skip-limit=" + Integer.MAX_VALUE,
+        "--ingestion.interest.skip-limit=" + Integer.MAX_VALUE,
+        "--ingestion.annual-account.skip-limit=" + Integer.MAX_VALUE,
+        "--ingestion.transaction.rejection-mode=" + rejectionMode,
+        "--ingestion.interest.rejection-mode=" + rejectionMode,
+        "--ingestion.annual-account.rejection-mode=" + rejectionMode,
+        "--ingestion.metadata.mode=" + metadata);
+
+    // El JobLauncher de la aplicación es asíncrono; el benchmark necesita esperar cada ejecución
+    jobLauncher = new TaskExecutorJobLauncher();
+    jobLauncher.setJobRepository(context.getBean(JobRepository.class));
+    jobLauncher.afterPropertiesSet();
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    jdbcTemplate.execute("SET QUERY_STATISTICS_MAX_ENTRIES 1000");
+    jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+  }
+
+  @Setup(Level.Iteration)
+  public void truncate() {
+    if (replay) {
+      return;
+    }
+    jdbcTemplate.execute("DELETE FROM tbl_transactions");
+    jdbcTemplate.execute("DELETE FROM tbl_interests");
+    jdbcTemplate.execute("DELETE FROM tbl_annual_accounts");
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteErrorFiles() throws Exception {
+    for (Path errorFile : errorFiles) {
+      Files.deleteIfExists(errorFile);
+    }
+    errorFiles.clear();
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() throws Exception {
+    context.close();
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  public JobExecution transactionJob() throws Exception {
+    return run("transactionJob");
+  }
+
+  @Benchmark
+  public JobExecution interestJob() throws Exception {
+    return run("interestJob");
+  }
+
+  @Benchmark
+  public JobExecution annualAccountJob() throws Exception {
+    return run("annualAccountJob");
+  }
+
+  private JobExecution run(String jobName) throws Exception {
+    long statements = metadataStatements();
+    JobExecution jobExecution = jobLauncher.run(context.getBean(jobName, Job.class),
+      new JobParametersBuilder().addLong("time", System.nanoTime()).toJobParameters());
+    if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+      throw new IllegalStateException(jobName + " terminó con estado " + jobExecution.getStatus());
+    }
+    statements = metadataStatements() - statements;
+    logger.info("{} (metadata={}): {} sentencias sobre las tablas BATCH_, {} por millón de filas",
+      jobName, metadata, statements, statements * 1_000_000L / rows);
+    String errorFile = jobExecution.getExecutionContext().getString(RejectedItemWriter.ERROR_FILE_KEY, null);
+    if (errorFile != null) {
+      errorFiles.add(Path.of(errorFile));
+    }
+    return jobExecution;
+  }
+
+  /**
+   * Sentencias ejecutadas hasta ahora sobre las tablas del JobRepository.
+   */
+  private long metadataStatements() {
+    return jdbcTemplate.queryForObject(
+      "SELECT COALESCE(SUM(EXECUTION_COUNT), 0) FROM INFORMATION_SCHEMA.QUERY_STATISTICS"
+        + " WHERE UPPER(SQL_STATEMENT) LIKE '%BATCH\\_%'", Long.class);
+  }
+
+}
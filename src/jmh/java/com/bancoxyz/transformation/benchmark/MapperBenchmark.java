@@ -0,0 +1,95 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import com.bancoxyz.transformation.mapper.AnnualAccountMapper;
+import com.bancoxyz.transformation.mapper.InterestMapper;
+import com.bancoxyz.transformation.mapper.TransactionMapper;
+
+/**
+ * Costo por registro de los FieldSetMappers, sobre FieldSets ya tokenizados
+ * a partir de {@value #SAMPLE} registros sintéticos de cada archivo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapperBenchmark {
+
+  static final int SAMPLE = 10_000;
+
+  private final TransactionMapper transactionMapper = new TransactionMapper();
+  private final InterestMapper interestMapper = new InterestMapper();
+  private final AnnualAccountMapper annualAccountMapper = new AnnualAccountMapper();
+
+  private FieldSet[] transactions;
+  private FieldSet[] interests;
+  private FieldSet[] annualAccounts;
+
+  @Setup(Level.Trial)
+  public void tokenize() throws Exception {
+    transactions = fieldSets(SyntheticCsv.transactions(Files.createTempFile("transacciones", ".csv"), SAMPLE));
+    interests = fieldSets(SyntheticCsv.interests(Files.createTempFile("intereses", ".csv"), SAMPLE));
+    annualAccounts = fieldSets(SyntheticCsv.annualAccounts(Files.createTempFile("cuentas_anuales", ".csv"), SAMPLE));
+  }
+
+  /**
+   * Tokeniza el archivo con los nombres de columna de su cabecera y lo elimina.
+   */
+  private static FieldSet[] fieldSets(Path file) throws Exception {
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    Files.delete(file);
+
+    DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+    tokenizer.setNames(lines.get(0).split(","));
+    tokenizer.setStrict(false);
+    return lines.stream().skip(1).map(tokenizer::tokenize).toArray(FieldSet[]::new);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void transactionMapper(Blackhole blackhole) throws Exception {
+    for (FieldSet fieldSet : transactions) {
+      blackhole.consume(transactionMapper.mapFieldSet(fieldSet));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void interestMapper(Blackhole blackhole) throws Exception {
+    for (FieldSet fieldSet : interests) {
+      blackhole.consume(interestMapper.mapFieldSet(fieldSet));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SAMPLE)
+  public void annualAccountMapper(Blackhole blackhole) throws Exception {
+    for (FieldSet fieldSet : annualAccounts) {
+      blackhole.consume(annualAccountMapper.mapFieldSet(fieldSet));
+    }
+  }
+
+}
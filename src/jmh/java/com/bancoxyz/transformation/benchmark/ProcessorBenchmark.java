@@ -0,0 +1,107 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.file.LineMapper;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.model.input.AnnualAccountInput;
+import com.bancoxyz.transformation.model.input.InterestInput;
+import com.bancoxyz.transformation.model.input.TransactionInput;
+import com.bancoxyz.transformation.processor.AnnualAccountItemProcessor;
+import com.bancoxyz.transformation.processor.InterestItemProcessor;
+import com.bancoxyz.transformation.processor.TransactionItemProcessor;
+import com.bancoxyz.transformation.reader.AnnualAccountItemReader;
+import com.bancoxyz.transformation.reader.InterestItemReader;
+import com.bancoxyz.transformation.reader.TransactionItemReader;
+
+/**
+ * Costo por registro de los ItemProcessors sobre {@value MapperBenchmark#SAMPLE} inputs
+ * sintéticos. Incluye los registros rechazados, es decir, el costo de crear y lanzar
+ * InvalidDataException y de sus mensajes de log (ver logback-test.xml del perfil).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProcessorBenchmark {
+
+  private final TransactionItemProcessor transactionProcessor = new TransactionItemProcessor();
+  private final InterestItemProcessor interestProcessor = new InterestItemProcessor();
+  private final AnnualAccountItemProcessor annualAccountProcessor = new AnnualAccountItemProcessor();
+
+  private List<TransactionInput> transactions;
+  private List<InterestInput> interests;
+  private List<AnnualAccountInput> annualAccounts;
+
+  @Setup(Level.Trial)
+  public void map() throws Exception {
+    transactions = inputs(SyntheticCsv.transactions(Files.createTempFile("transacciones", ".csv"), MapperBenchmark.SAMPLE),
+      TransactionItemReader.lineMapper());
+    interests = inputs(SyntheticCsv.interests(Files.createTempFile("intereses", ".csv"), MapperBenchmark.SAMPLE),
+      InterestItemReader.lineMapper());
+    annualAccounts = inputs(SyntheticCsv.annualAccounts(Files.createTempFile("cuentas_anuales", ".csv"), MapperBenchmark.SAMPLE),
+      AnnualAccountItemReader.lineMapper());
+  }
+
+  private static <T> List<T> inputs(Path file, LineMapper<T> lineMapper) throws Exception {
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    Files.delete(file);
+
+    List<T> inputs = new ArrayList<>(lines.size() - 1);
+    for (int i = 1; i < lines.size(); i++) {
+      inputs.add(lineMapper.mapLine(lines.get(i), i + 1));
+    }
+    return inputs;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MapperBenchmark.SAMPLE)
+  public void transactionProcessor(Blackhole blackhole) throws Exception {
+    processAll(transactionProcessor, transactions, blackhole);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MapperBenchmark.SAMPLE)
+  public void interestProcessor(Blackhole blackhole) throws Exception {
+    processAll(interestProcessor, interests, blackhole);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MapperBenchmark.SAMPLE)
+  public void annualAccountProcessor(Blackhole blackhole) throws Exception {
+    processAll(annualAccountProcessor, annualAccounts, blackhole);
+  }
+
+  private static <I, O> void processAll(ItemProcessor<I, O> processor, List<I> items, Blackhole blackhole) throws Exception {
+    for (I item : items) {
+      try {
+        blackhole.consume(processor.process(item));
+      } catch (InvalidDataException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,143 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import com.bancoxyz.transformation.config.IngestionProperties;
+import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.listener.RejectionSummaryListener;
+import com.bancoxyz.transformation.model.input.TransactionInput;
+import com.bancoxyz.transformation.processor.TransactionItemProcessor;
+import com.bancoxyz.transformation.reader.TransactionItemReader;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Costo por registro del processor de transacciones más el registro de sus rechazos:
+ * <ul>
+ *   <li>{@code perRowLogging}: una línea WARN por rechazo en el processor y otra en el skip
+ *       listener, como antes de RejectionSummaryListener;</li>
+ *   <li>{@code rejectionSummary}: RejectionSummaryListener con chunks de {@value #CHUNK_SIZE} registros
+ *       (conteo por motivo, resumen por chunk en DEBUG y una muestra de 1 de cada 100 en WARN).</li>
+ * </ul>
+ * Con {@code appender=async} el FileAppender de logback-test.xml se envuelve en un AsyncAppender
+ * con la misma configuración que logback-spring.xml.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RejectionLoggingBenchmark {
+
+  private static final int CHUNK_SIZE = 10;
+  private static final Logger logger = LoggerFactory.getLogger(RejectionLoggingBenchmark.class);
+
+  @Param({"sync", "async"})
+  private String appender;
+
+  private final TransactionItemProcessor processor = new TransactionItemProcessor();
+  private final RejectionSummaryListener summaryListener = new RejectionSummaryListener(new IngestionProperties());
+  private List<TransactionInput> transactions;
+  private ChunkContext chunkContext;
+  private AsyncAppender asyncAppender;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    Path file = SyntheticCsv.transactions(Files.createTempFile("transacciones", ".csv"), MapperBenchmark.SAMPLE);
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    Files.delete(file);
+    transactions = new ArrayList<>(lines.size() - 1);
+    for (int i = 1; i < lines.size(); i++) {
+      transactions.add(TransactionItemReader.lineMapper().mapLine(lines.get(i), i + 1));
+    }
+
+    StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+    StepContext stepContext = StepSynchronizationManager.register(stepExecution);
+    chunkContext = new ChunkContext(stepContext);
+
+    if ("async".equals(appender)) {
+      LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+      ch.qos.logback.classic.Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+      Appender<ILoggingEvent> fileAppender = root.getAppender("FILE");
+      asyncAppender = new AsyncAppender();
+      asyncAppender.setContext(loggerContext);
+      asyncAppender.setQueueSize(8192);
+      asyncAppender.setDiscardingThreshold(0);
+      asyncAppender.addAppender(fileAppender);
+      asyncAppender.start();
+      root.detachAppender(fileAppender);
+      root.addAppender(asyncAppender);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    StepSynchronizationManager.close();
+    if (asyncAppender != null) {
+      asyncAppender.stop();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MapperBenchmark.SAMPLE)
+  public void perRowLogging(Blackhole blackhole) throws Exception {
+    for (TransactionInput item : transactions) {
+      try {
+        blackhole.consume(processor.process(item));
+      } catch (InvalidDataException e) {
+        logger.warn("Transacción inválida encontrada y será omitida: {}", item);
+        logger.warn("Item omitido durante procesamiento: {} - {}", item, e.getMessage());
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MapperBenchmark.SAMPLE)
+  public void rejectionSummary(Blackhole blackhole) throws Exception {
+    int inChunk = 0;
+    for (TransactionInput item : transactions) {
+      try {
+        blackhole.consume(processor.process(item));
+      } catch (InvalidDataException e) {
+        summaryListener.onSkipInProcess(item, e);
+      }
+      if (++inChunk == CHUNK_SIZE) {
+        summaryListener.afterChunk(chunkContext);
+        inChunk = 0;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Generador de archivos CSV sintéticos con el mismo formato (y la misma mezcla de
+ * fechas, montos vacíos y tipos inválidos) que los archivos de data/.
+ *
+ * También se puede usar desde la línea de comandos para generar archivos de prueba:
+ * {@code SyntheticCsv <transacciones|intereses|cuentas-anuales> <filas> <archivo>}.
+ */
+public final class SyntheticCsv {
+
+  private static final String[] DATE_FORMATS = {"%3$d-%2$02d-%1$02d", "%1$02d/%2$02d/%3$d", "%1$02d-%2$02d-%3$d", "%3$d/%2$02d/%1$02d"};
+  private static final String[] TRANSACTION_TYPES = {"credito", "debito", "invalid"};
+  private static final String[] NAMES = {"John Doe", "Jane Smith", "Alice Brown", "Bob Johnson", "Charlie Green", "Diana Prince", "Steve Rogers", "Unknown"};
+  private static final String[] INTEREST_TYPES = {"ahorro", "prestamo", "hipoteca", "-1"};
+  private static final String[] MOVEMENTS = {"deposito", "retiro", "compra"};
+  private static final String[] DESCRIPTIONS = {"Ingreso mensual", "Ingreso extra", "Retiro parcial", "Compra en tienda", ""};
+
+  private SyntheticCsv() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("Uso: SyntheticCsv <transacciones|intereses|cuentas-anuales> <filas> <archivo>");
+      System.exit(1);
+    }
+    int rows = Integer.parseInt(args[1]);
+    Path file = Path.of(args[2]);
+    switch (args[0]) {
+      case "transacciones" -> transactions(file, rows);
+      case "intereses" -> interests(file, rows);
+      case "cuentas-anuales" -> annualAccounts(file, rows);
+      default -> throw new IllegalArgumentException("Tipo de archivo desconocido: " + args[0]);
+    }
+  }
+
+  /**
+   * Escribe {@code rows} transacciones (id, fecha, monto, tipo) en {@code file}.
+   */
+  public static Path transactions(Path file, int rows) throws IOException {
+    return write(file, "id,fecha,monto,tipo", rows, (random, id) ->
+      id + "," + date(random) + "," + amount(random, 10) + "," + pick(random, TRANSACTION_TYPES));
+  }
+
+  /**
+   * Escribe {@code rows} intereses (cuenta_id, nombre, saldo, edad, tipo) en {@code file}.
+   */
+  public static Path interests(Path file, int rows) throws IOException {
+    return write(file, "cuenta_id,nombre,saldo,edad,tipo", rows, (random, id) ->
+      (100 + random.nextInt(50)) + "," + pick(random, NAMES) + "," + amount(random, 8) + ","
+        + (random.nextInt(8) == 0 ? "" : Integer.toString(25 + 5 * random.nextInt(6))) + "," + pick(random, INTEREST_TYPES));
+  }
+
+  /**
+   * Escribe {@code rows} movimientos anuales (cuenta_id, fecha, transaccion, monto, descripcion) en {@code file}.
+   */
+  public static Path annualAccounts(Path file, int rows) throws IOException {
+    return write(file, "cuenta_id,fecha,transaccion,monto,descripcion", rows, (random, id) ->
+      (100 + random.nextInt(21)) + "," + date(random) + "," + pick(random, MOVEMENTS) + ","
+        + amount(random, 25) + "," + pick(random, DESCRIPTIONS));
+  }
+
+  private static Path write(Path file, String header, int rows, LineGenerator generator) throws IOException {
+    Random random = new Random(42);
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(header);
+      for (int id = 1; id <= rows; id++) {
+        writer.write('\n');
+        writer.write(generator.line(random, id));
+      }
+    }
+    return file;
+  }
+
+  private static String date(Random random) {
+    return String.format(DATE_FORMATS[random.nextInt(DATE_FORMATS.length)], 1 + random.nextInt(28), 1 + random.nextInt(12), 2024);
+  }
+
+  /**
+   * Monto múltiplo de 100, vacío en uno de cada {@code emptyEvery} registros.
+   */
+  private static String amount(Random random, int emptyEvery) {
+    return random.nextInt(emptyEvery) == 0 ? "" : Integer.toString(100 * (1 + random.nextInt(50)));
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  @FunctionalInterface
+  private interface LineGenerator {
+    String line(Random random, int id);
+  }
+
+}
@@ -0,0 +1,140 @@
+package com.bancoxyz.transformation.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JpaItemWriter;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bancoxyz.transformation.TransformationApplication;
+import com.bancoxyz.transformation.model.entity.Transaction;
+import com.bancoxyz.transformation.writer.TransactionJdbcItemWriter;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Filas por segundo que escribe en tbl_transactions cada writer de ingestion.transaction.writer
+ * (jpa, el merge por entidad que hacía JpaItemWriter; jdbc y upsert, los batch JDBC), sin
+ * lectura ni proceso: {@value #ROWS} transacciones en chunks de {@value #CHUNK_SIZE}, cada uno
+ * en su transacción, sobre una base H2 embebida en modo MySQL. La tabla se vacía antes de cada
+ * invocación, así que jpa hace el SELECT previo a cada INSERT sin encontrar la fila.
+ *
+ * Con H2 no hay latencia de red por sentencia: la diferencia contra MySQL (un SELECT y un INSERT
+ * por fila frente a un INSERT multi-fila por chunk con rewriteBatchedStatements) es mayor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransactionWriterBenchmark {
+
+  static final int ROWS = 100_000;
+  static final int CHUNK_SIZE = 1000;
+
+  @Param({"jpa", "jdbc", "upsert"})
+  private String writer;
+
+  private Path dir;
+  private ConfigurableApplicationContext context;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private ItemWriter<Transaction> itemWriter;
+  private List<Chunk<Transaction>> chunks;
+
+  @Setup(Level.Trial)
+  public void start() throws Exception {
+    dir = Files.createTempDirectory("writer-benchmark");
+    context = new SpringApplicationBuilder(TransformationApplication.class)
+      .web(WebApplicationType.NONE)
+      .bannerMode(Banner.Mode.OFF)
+      .run(
+        "--spring.datasource.url=jdbc:h2:file:" + dir.resolve("db") + ";MODE=MySQL",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "--ingestion.staging-directory=" + dir.resolve("staging"));
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    itemWriter = switch (writer) {
+      case "jdbc" -> new TransactionJdbcItemWriter(jdbcTemplate.getDataSource());
+      case "upsert" -> new TransactionJdbcItemWriter(jdbcTemplate.getDataSource(), true);
+      default -> {
+        JpaItemWriter<Transaction> jpaWriter = new JpaItemWriter<>();
+        jpaWriter.setEntityManagerFactory(context.getBean(EntityManagerFactory.class));
+        jpaWriter.afterPropertiesSet();
+        yield jpaWriter;
+      }
+    };
+
+    chunks = new ArrayList<>(ROWS / CHUNK_SIZE);
+    LocalDate date = LocalDate.of(2024, 1, 1);
+    for (long id = 1; id <= ROWS; id += CHUNK_SIZE) {
+      List<Transaction> items = new ArrayList<>(CHUNK_SIZE);
+      for (long i = id; i < id + CHUNK_SIZE; i++) {
+        items.add(new Transaction(i, date.plusDays(i % 365), (int) (i % 5000) + 1, i % 2 == 0 ? "credito" : "debito"));
+      }
+      chunks.add(new Chunk<>(items));
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void truncate() {
+    jdbcTemplate.execute("DELETE FROM tbl_transactions");
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() throws Exception {
+    context.close();
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void write() {
+    for (Chunk<Transaction> chunk : chunks) {
+      transactionTemplate.executeWithoutResult(status -> {
+        try {
+          itemWriter.write(chunk);
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      });
+    }
+  }
+
+}
@@ -1,27 +1,54 @@
 package com.bancoxyz.transformation.config;
 
+import java.util.List;
+
+import javax.sql.DataSource;
+
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
-import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import com.bancoxyz.transformation.config.IngestionProperties.RejectionMode;
+import com.bancoxyz.transformation.config.IngestionProperties.WriterMode;
 import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.incremental.InputChangeTasklet;
 import com.bancoxyz.transformation.listener.AnnualAccountJobCompletionListener;
 import com.bancoxyz.transformation.listener.AnnualAccountSkipListener;
+import com.bancoxyz.transformation.listener.RejectionSummaryListener;
+import com.bancoxyz.transformation.listener.StepMetricsListener;
+import com.bancoxyz.transformation.listener.StepThroughputListener;
 import com.bancoxyz.transformation.model.entity.AnnualAccount;
 import com.bancoxyz.transformation.model.input.AnnualAccountInput;
+import com.bancoxyz.transformation.partition.LineRangePartitioner;
+import com.bancoxyz.transformation.policy.ChunkSizePolicy;
+import com.bancoxyz.transformation.processor.FilteringItemProcessor;
+import com.bancoxyz.transformation.processor.PipelinedItemProcessor;
 import com.bancoxyz.transformation.processor.AnnualAccountItemProcessor;
 import com.bancoxyz.transformation.reader.AnnualAccountItemReader;
+import com.bancoxyz.transformation.writer.BulkLoadTasklet;
+import com.bancoxyz.transformation.writer.PipelinedItemWriter;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
+import com.bancoxyz.transformation.writer.StagingFileItemWriter;
 
 import jakarta.persistence.EntityManagerFactory;
 
@@ -33,61 +60,312 @@ public class AnnualAccountConfig {
     return new AnnualAccountItemProcessor();
   }
 
+  /**
+   * Writer de cuentas anuales según ingestion.annual-account.writer: JPA (persist por entidad) o
+   * BULK (archivos de staging que carga annualAccountBulkLoadStep).
+   */
   @Bean
-  public JpaItemWriter<AnnualAccount> annualAccountWriter(EntityManagerFactory entityManagerFactory) {
-    JpaItemWriter<AnnualAccount> writer = new JpaItemWriter<>();
-    writer.setEntityManagerFactory(entityManagerFactory);
-    return writer;
+  public ItemWriter<AnnualAccount> annualAccountWriter(EntityManagerFactory entityManagerFactory, IngestionProperties ingestionProperties) {
+    return switch (ingestionProperties.getAnnualAccount().getWriter()) {
+      case JPA -> {
+        JpaItemWriter<AnnualAccount> writer = new JpaItemWriter<>();
+        writer.setEntityManagerFactory(entityManagerFactory);
+        writer.setUsePersist(true);
+        yield writer;
+      }
+      case BULK -> new StagingFileItemWriter<AnnualAccount>("annualAccount", ingestionProperties.getStagingDirectory(),
+        account -> new Object[] {account.getAccountId(), account.getDate(), account.getTransactionType(), account.getAmount(),
+          account.getTransactionDescription()});
+      case JDBC, UPSERT -> throw new IllegalStateException(
+        "ingestion.annual-account.writer=" + ingestionProperties.getAnnualAccount().getWriter().name().toLowerCase()
+          + " no está soportado: las cuentas anuales se escriben con jpa o bulk");
+    };
   }
 
+  /**
+   * Archivo de registros omitidos; los skip listeners lo alimentan y se vuelca al terminar cada chunk.
+   */
   @Bean
-  public FlatFileItemWriter<AnnualAccountInput> annualAccountErrorWriter() {
-    return new FlatFileItemWriterBuilder<AnnualAccountInput>()
-      .name("errorAnnualAccountWriter")
-      .resource(new FileSystemResource("errores-cuentas-anuales.csv"))
-      .delimited()
-      .names("cuenta_id", "fecha", "transaccion", "monto", "descripcion")
-      .build();
+  public RejectedItemWriter<AnnualAccountInput> annualAccountErrorWriter() {
+    return new RejectedItemWriter<>("errores-cuentas-anuales.csv", "cuenta_id", "fecha", "transaccion", "monto", "descripcion");
   }
 
   @Bean
+  @SuppressWarnings("removal")
   public Step stepAnnualAccount(
     AnnualAccountItemReader annualAccountReader,
     JobRepository jobRepository,
-    JpaItemWriter<AnnualAccount> itemWriter,
+    ItemWriter<AnnualAccount> itemWriter,
+    PlatformTransactionManager annualAccountManager,
+    ChunkSizePolicy annualAccountChunkSizePolicy,
+    AnnualAccountSkipListener annualAccountSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    TaskExecutor annualAccountTaskExecutor,
+    StepTaskExecutors stepTaskExecutors,
+    IngestionProperties ingestionProperties
+  ) {
+    return annualAccountStepBuilder("annualAccountStep", annualAccountReader, jobRepository, itemWriter,
+        annualAccountManager, annualAccountChunkSizePolicy, annualAccountSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getAnnualAccount())
+      .taskExecutor(annualAccountTaskExecutor)
+      // El límite de chunks simultáneos solo se configura con este método (deprecado en Spring Batch 5)
+      .throttleLimit(stepTaskExecutors.throttleLimit(ingestionProperties.getAnnualAccount()))
+      .build();
+  }
+
+  /**
+   * Step multi-hilo con el proceso desacoplado: los hilos del step (pool de I/O, hasta
+   * throttle-limit chunks en curso) leen y escriben, y los registros se procesan en paralelo en
+   * annualAccountProcessorExecutor. Los rechazos se filtran siempre, como con rejection-mode=filter.
+   */
+  @Bean
+  @SuppressWarnings("removal")
+  public Step annualAccountPipelinedStep(
+    AnnualAccountItemReader annualAccountReader,
+    JobRepository jobRepository,
+    ItemWriter<AnnualAccount> itemWriter,
     PlatformTransactionManager annualAccountManager,
-    AnnualAccountSkipListener annualAccountSkipListener
+    ChunkSizePolicy annualAccountChunkSizePolicy,
+    AnnualAccountSkipListener annualAccountSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    TaskExecutor annualAccountTaskExecutor,
+    TaskExecutor annualAccountProcessorExecutor,
+    StepTaskExecutors stepTaskExecutors,
+    IngestionProperties ingestionProperties
   ) {
-    return new StepBuilder("annualAccountStep", jobRepository)
-      .<AnnualAccountInput, AnnualAccount>chunk(10, annualAccountManager)
-      .reader(annualAccountReader)
-      .processor(annualAccountProcessor())
+    PipelinedItemWriter<AnnualAccountInput, AnnualAccount> writer = new PipelinedItemWriter<>(itemWriter,
+      List.of(annualAccountSkipListener, stepMetricsListener, rejectionSummaryListener));
+    return annualAccountStepBuilder("annualAccountPipelinedStep", annualAccountReader,
+        new PipelinedItemProcessor<>(annualAccountProcessor(), annualAccountProcessorExecutor), writer,
+        jobRepository, annualAccountManager, annualAccountChunkSizePolicy, annualAccountSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getAnnualAccount())
+      .taskExecutor(annualAccountTaskExecutor)
+      .throttleLimit(stepTaskExecutors.throttleLimit(ingestionProperties.getAnnualAccount()))
+      .build();
+  }
+
+  /**
+   * Reader de una partición: lee únicamente el rango de registros [startLine, endLine)
+   * asignado por el partitioner y guarda su propia posición de reinicio.
+   */
+  @Bean
+  @StepScope
+  public FlatFileItemReader<AnnualAccountInput> annualAccountPartitionReader(
+    @Value("#{stepExecutionContext['startLine']}") Integer startLine,
+    @Value("#{stepExecutionContext['endLine']}") Integer endLine,
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    IngestionProperties ingestionProperties
+  ) {
+    return AnnualAccountItemReader.builder(ingestionProperties.getAnnualAccount().inputFor(inputFile))
+      .currentItemCount(startLine)
+      .maxItemCount(endLine)
+      .build();
+  }
+
+  @Bean
+  public Step annualAccountWorkerStep(
+    FlatFileItemReader<AnnualAccountInput> annualAccountPartitionReader,
+    JobRepository jobRepository,
+    ItemWriter<AnnualAccount> itemWriter,
+    PlatformTransactionManager annualAccountManager,
+    ChunkSizePolicy annualAccountChunkSizePolicy,
+    AnnualAccountSkipListener annualAccountSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties ingestionProperties
+  ) {
+    return annualAccountStepBuilder("annualAccountWorkerStep", annualAccountPartitionReader, jobRepository, itemWriter,
+        annualAccountManager, annualAccountChunkSizePolicy, annualAccountSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getAnnualAccount())
+      .build();
+  }
+
+  /**
+   * Divide en rangos de líneas el archivo de entrada de la ejecución.
+   */
+  @Bean
+  @StepScope
+  public Partitioner annualAccountPartitioner(
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    IngestionProperties ingestionProperties
+  ) {
+    return new LineRangePartitioner(ingestionProperties.getAnnualAccount().inputFor(inputFile), 1, "annualAccount." + InputChangeTasklet.START_RECORD);
+  }
+
+  @Bean
+  public Step annualAccountPartitionedStep(
+    JobRepository jobRepository,
+    Step annualAccountWorkerStep,
+    Partitioner annualAccountPartitioner,
+    IngestionProperties ingestionProperties,
+    StepThroughputListener stepThroughputListener,
+    TaskExecutor annualAccountTaskExecutor
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getAnnualAccount();
+    return new StepBuilder("annualAccountPartitionedStep", jobRepository)
+      .partitioner("annualAccountWorkerStep", annualAccountPartitioner)
+      .step(annualAccountWorkerStep)
+      .gridSize(settings.getGridSize())
+      .taskExecutor(annualAccountTaskExecutor)
+      .listener(stepThroughputListener)
+      .build();
+  }
+
+  private SimpleStepBuilder<AnnualAccountInput, AnnualAccount> annualAccountStepBuilder(
+    String stepName,
+    ItemReader<AnnualAccountInput> reader,
+    JobRepository jobRepository,
+    ItemWriter<AnnualAccount> itemWriter,
+    PlatformTransactionManager annualAccountManager,
+    ChunkSizePolicy chunkSizePolicy,
+    AnnualAccountSkipListener annualAccountSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties.JobSettings settings
+  ) {
+    ItemProcessor<AnnualAccountInput, AnnualAccount> processor = settings.getRejectionMode() == RejectionMode.FILTER
+      ? new FilteringItemProcessor<>(annualAccountProcessor(), List.of(annualAccountSkipListener, stepMetricsListener, rejectionSummaryListener))
+      : annualAccountProcessor();
+
+    return annualAccountStepBuilder(stepName, reader, processor, itemWriter, jobRepository, annualAccountManager, chunkSizePolicy,
+      annualAccountSkipListener, stepThroughputListener, stepMetricsListener, rejectionSummaryListener, settings);
+  }
+
+  private <O> SimpleStepBuilder<AnnualAccountInput, O> annualAccountStepBuilder(
+    String stepName,
+    ItemReader<AnnualAccountInput> reader,
+    ItemProcessor<AnnualAccountInput, O> processor,
+    ItemWriter<O> itemWriter,
+    JobRepository jobRepository,
+    PlatformTransactionManager annualAccountManager,
+    ChunkSizePolicy chunkSizePolicy,
+    AnnualAccountSkipListener annualAccountSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties.JobSettings settings
+  ) {
+    return new StepBuilder(stepName, jobRepository)
+      .<AnnualAccountInput, O>chunk(chunkSizePolicy, annualAccountManager)
+      .reader(reader)
+      .processor(processor)
       .writer(itemWriter)
       .faultTolerant()
       .skip(InvalidDataException.class)
-      .skipLimit(1000)
+      .skipLimit(settings.getSkipLimit())
       .listener(annualAccountSkipListener)
-      .taskExecutor(annualAccountTaskExecutor())
+      .listener(stepThroughputListener)
+      // Como StepExecutionListener; Spring Batch los registra también para chunks, escrituras y omisiones
+      .listener((StepExecutionListener) stepMetricsListener)
+      .listener((StepExecutionListener) rejectionSummaryListener)
+      .listener(chunkSizePolicy)
+      .listener((StepExecutionListener) annualAccountErrorWriter());
+  }
+
+  /**
+   * Tamaño de chunk del job: fijo, adaptativo o enviado como parámetro chunkSize. De step scope,
+   * para que cada ejecución del step (y cada partición) ajuste su propio tamaño.
+   */
+  @Bean
+  @StepScope
+  public ChunkSizePolicy annualAccountChunkSizePolicy(IngestionProperties ingestionProperties) {
+    return new ChunkSizePolicy(ingestionProperties.getAnnualAccount());
+  }
+
+  @Bean
+  public TaskExecutor annualAccountTaskExecutor(StepTaskExecutors stepTaskExecutors, IngestionProperties ingestionProperties) {
+    return stepTaskExecutors.create("Nº", ingestionProperties.getAnnualAccount());
+  }
+
+  @Bean
+  public TaskExecutor annualAccountProcessorExecutor(StepTaskExecutors stepTaskExecutors, IngestionProperties ingestionProperties) {
+    return stepTaskExecutors.createProcessorExecutor("proceso-", ingestionProperties.getAnnualAccount());
+  }
+
+  /**
+   * Paso previo de la ingesta incremental: compara el archivo de entrada con el de la última ejecución completada.
+   */
+  @Bean
+  public Step annualAccountInputCheckStep(
+    JobRepository jobRepository,
+    PlatformTransactionManager transactionManager,
+    JobExplorer jobExplorer,
+    IngestionProperties ingestionProperties
+  ) {
+    return new StepBuilder("annualAccountInputCheckStep", jobRepository)
+      .tasklet(new InputChangeTasklet(jobExplorer, "annualAccount", ingestionProperties.getAnnualAccount(), 1), transactionManager)
       .build();
   }
 
+  /**
+   * Modo bulk: carga en tbl_annual_accounts los archivos de staging que escribió el step de ingesta.
+   */
   @Bean
-  public ThreadPoolTaskExecutor annualAccountTaskExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(10);
-    executor.setMaxPoolSize(10);
-    executor.setQueueCapacity(30);
-    executor.setThreadNamePrefix("Nº");
-    executor.initialize();
-    return executor;
+  public Step annualAccountBulkLoadStep(
+    JobRepository jobRepository,
+    PlatformTransactionManager transactionManager,
+    JobExplorer jobExplorer,
+    DataSource dataSource
+  ) {
+    return new StepBuilder("annualAccountBulkLoadStep", jobRepository)
+      .tasklet(new BulkLoadTasklet(jobExplorer, dataSource, transactionManager, "annualAccount", BulkLoadTasklet.Target.ANNUAL_ACCOUNTS), transactionManager)
+      .build();
+  }
+
+  /**
+   * Ingesta de cuentas anuales: el step según step-mode (multi-hilo, pipelined o particionado),
+   * precedido en modo incremental por la comparación del archivo y seguido en modo bulk por la
+   * carga de los archivos de staging. La usan annualAccountJob y el job combinado ingestionJob.
+   */
+  @Bean
+  public Flow annualAccountFlow(
+    Step stepAnnualAccount,
+    Step annualAccountPipelinedStep,
+    Step annualAccountPartitionedStep,
+    Step annualAccountInputCheckStep,
+    Step annualAccountBulkLoadStep,
+    IngestionProperties ingestionProperties
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getAnnualAccount();
+    Step step = switch (settings.getStepMode()) {
+      case PARTITIONED -> annualAccountPartitionedStep;
+      case PIPELINED -> annualAccountPipelinedStep;
+      case MULTI_THREADED -> stepAnnualAccount;
+      case REMOTE -> throw new IllegalStateException(
+        "ingestion.annual-account.step-mode=remote no está soportado: solo el job de transacciones tiene particionamiento remoto");
+    };
+
+    FlowBuilder<Flow> builder = new FlowBuilder<>("annualAccountFlow");
+    if (settings.isIncremental()) {
+      builder.start(annualAccountInputCheckStep)
+        .on(InputChangeTasklet.UNCHANGED.getExitCode()).end()
+        .from(annualAccountInputCheckStep).on("*").to(step);
+    } else {
+      builder.start(step);
+    }
+    if (settings.getWriter() == WriterMode.BULK) {
+      builder.next(annualAccountBulkLoadStep);
+    }
+    return builder.build();
   }
 
   @Bean
-  public Job annualAccountJob(JobRepository jobRepository, Step stepAnnualAccount, AnnualAccountJobCompletionListener listener) {
+  public Job annualAccountJob(
+    JobRepository jobRepository,
+    Flow annualAccountFlow,
+    AnnualAccountJobCompletionListener listener
+  ) {
     return new JobBuilder("annualAccountJob", jobRepository)
       .incrementer(new RunIdIncrementer())
       .listener(listener)
-      .start(stepAnnualAccount)
+      .start(annualAccountFlow)
+      .end()
       .build();
   }
 
@@ -0,0 +1,29 @@
+package com.bancoxyz.transformation.config;
+
+import org.springframework.boot.autoconfigure.batch.BatchTaskExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Lanzamiento asíncrono de jobs: el JobLauncher de Spring Boot usa este executor, por lo que
+ * {@code jobLauncher.run} devuelve la ejecución en estado STARTING sin esperar a que termine.
+ * Se ejecutan hasta ingestion.max-concurrent-jobs jobs a la vez; el resto queda en cola.
+ */
+@Configuration
+public class BatchLauncherConfig {
+
+  @Bean
+  @BatchTaskExecutor
+  public TaskExecutor jobLauncherTaskExecutor(IngestionProperties ingestionProperties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(ingestionProperties.getMaxConcurrentJobs());
+    executor.setMaxPoolSize(ingestionProperties.getMaxConcurrentJobs());
+    executor.setQueueCapacity(100);
+    executor.setThreadNamePrefix("job-");
+    executor.initialize();
+    return executor;
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.bancoxyz.transformation.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Cupo de conexiones compartido por los steps de todos los jobs en ejecución.
+ *
+ * Cada chunk del step multi-hilo (o cada partición) mantiene una conexión durante su
+ * transacción, y cada job limita solo sus propios chunks simultáneos. Cuando corren varios
+ * jobs a la vez (el job combinado o varias llamadas a la API), la suma puede superar el pool
+ * de conexiones y los hilos quedan esperando conexión con la transacción ya iniciada. Como
+ * decorador de los executors de los steps, este cupo hace que cada tarea tome un permiso
+ * antes de empezar, de modo que las tareas que exceden el cupo esperan sin ocupar conexión.
+ *
+ * El cupo es ingestion.connection-budget o, si no se define, el tamaño del pool menos una
+ * conexión, reservada para las actualizaciones del JobRepository.
+ */
+@Component
+public class ConnectionBudget implements TaskDecorator {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConnectionBudget.class);
+
+  private final int permits;
+  private final Semaphore semaphore;
+
+  public ConnectionBudget(IngestionProperties ingestionProperties, DataSource dataSource) {
+    this.permits = permits(ingestionProperties.getConnectionBudget(), dataSource);
+    this.semaphore = new Semaphore(permits, true);
+  }
+
+  private static int permits(int configured, DataSource dataSource) {
+    if (configured > 0) {
+      return configured;
+    }
+    if (dataSource instanceof HikariDataSource hikari) {
+      return Math.max(1, hikari.getMaximumPoolSize() - 1);
+    }
+    logger.warn("El DataSource no es Hikari; el cupo de conexiones de los steps no tiene límite");
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  @NonNull
+  public Runnable decorate(@NonNull Runnable task) {
+    return () -> {
+      semaphore.acquireUninterruptibly();
+      try {
+        task.run();
+      } finally {
+        semaphore.release();
+      }
+    };
+  }
+
+  /**
+   * Ejecuta {@code task} en el hilo actual con un permiso del cupo. Para las tareas que no pasan
+   * por un executor decorado, como las particiones que recibe el worker remoto.
+   */
+  public <T> T call(Supplier<T> task) {
+    semaphore.acquireUninterruptibly();
+    try {
+      return task.get();
+    } finally {
+      semaphore.release();
+    }
+  }
+
+  public int getPermits() {
+    return permits;
+  }
+
+  /**
+   * Tareas de steps que están usando el cupo en este momento.
+   */
+  public int getInUse() {
+    return permits - semaphore.availablePermits();
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.bancoxyz.transformation.config;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import com.bancoxyz.transformation.listener.AnnualAccountJobCompletionListener;
+import com.bancoxyz.transformation.listener.IngestionJobSummaryListener;
+import com.bancoxyz.transformation.listener.InterestJobCompletionListener;
+import com.bancoxyz.transformation.listener.TransactionJobCompletionListener;
+
+/**
+ * Job combinado: carga los tres archivos en paralelo con un split de los flows de
+ * transactionJob, interestJob y annualAccountJob, cada uno en su propio hilo.
+ *
+ * Cada step mantiene su executor y su configuración; las conexiones que usan entre todos
+ * quedan limitadas por el {@link ConnectionBudget} compartido. Los archivos de errores y
+ * los conteos por step son los mismos que al lanzar cada job por separado.
+ */
+@Configuration
+public class IngestionJobConfig {
+
+  private static final int FEEDS = 3;
+
+  @Bean
+  public TaskExecutor ingestionSplitTaskExecutor() {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("feed-");
+    executor.setConcurrencyLimit(FEEDS);
+    return executor;
+  }
+
+  @Bean
+  public Job ingestionJob(
+    JobRepository jobRepository,
+    Flow transactionFlow,
+    Flow interestFlow,
+    Flow annualAccountFlow,
+    TaskExecutor ingestionSplitTaskExecutor,
+    TransactionJobCompletionListener transactionListener,
+    InterestJobCompletionListener interestListener,
+    AnnualAccountJobCompletionListener annualAccountListener,
+    IngestionJobSummaryListener summaryListener
+  ) {
+    Flow feeds = new FlowBuilder<SimpleFlow>("ingestionFlow")
+      .split(ingestionSplitTaskExecutor)
+      .add(transactionFlow, interestFlow, annualAccountFlow)
+      .build();
+
+    return new JobBuilder("ingestionJob", jobRepository)
+      .incrementer(new RunIdIncrementer())
+      .listener(transactionListener)
+      .listener(interestListener)
+      .listener(annualAccountListener)
+      .listener(summaryListener)
+      .start(feeds)
+      .end()
+      .build();
+  }
+
+}
@@ -0,0 +1,346 @@
+package com.bancoxyz.transformation.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import lombok.Data;
+
+/**
+ * Parámetros de ajuste de los procesos de ingesta, configurables por job
+ * mediante el prefijo {@code ingestion.<job>} en application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "ingestion")
+public class IngestionProperties {
+
+  /**
+   * Parámetro de job con la ruta del archivo de entrada de una ejecución; si no se envía,
+   * se usa {@code ingestion.<job>.input}.
+   */
+  public static final String INPUT_FILE_PARAMETER = "inputFile";
+
+  private JobSettings transaction = JobSettings.forInput("data/transacciones.csv");
+  private JobSettings interest = JobSettings.forInput("data/intereses.csv");
+  private JobSettings annualAccount = JobSettings.forInput("data/cuentas_anuales.csv");
+
+  /**
+   * Jobs que se ejecutan a la vez cuando se lanzan desde la API; los demás esperan en cola.
+   */
+  private int maxConcurrentJobs = 4;
+
+  /**
+   * Uno de cada N registros rechazados se registra en el log con su contenido; con 0 no se registra ninguno.
+   */
+  private int rejectionLogSample = 100;
+
+  /**
+   * Chunks o particiones simultáneos entre todos los jobs en ejecución (cada uno ocupa una
+   * conexión). Con 0 se usa el tamaño del pool de conexiones menos una.
+   */
+  private int connectionBudget = 0;
+
+  /**
+   * Directorio de los archivos de staging del modo bulk (writer=bulk). En MySQL, el driver debe
+   * permitir LOAD DATA LOCAL desde este directorio (allowLoadLocalInfileInPath).
+   */
+  private Path stagingDirectory = Path.of(System.getProperty("java.io.tmpdir"), "ingestion-staging");
+
+  /**
+   * Ingesta continua desde un directorio de entrada.
+   */
+  private Inbox inbox = new Inbox();
+
+  /**
+   * Particionamiento remoto (step-mode=remote): canal por el que se envían las particiones a
+   * los workers.
+   */
+  private Remote remote = new Remote();
+
+  /**
+   * Escritura de los metadatos de los steps en el JobRepository.
+   */
+  private Metadata metadata = new Metadata();
+
+  @Data
+  public static class Metadata {
+
+    /**
+     * Cuándo se escriben en el JobRepository el avance de cada step y su ExecutionContext.
+     */
+    private MetadataMode mode = MetadataMode.FULL;
+
+    /**
+     * En modo write-behind, intervalo mínimo entre dos escrituras del avance de un mismo step.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+  }
+
+  @Data
+  public static class Remote {
+
+    /**
+     * Canal de las solicitudes de partición entre el manager y los workers.
+     */
+    private Transport transport = Transport.LOCAL;
+
+    /**
+     * Esta instancia atiende solicitudes de partición. Sin valor, solo cuando el job de
+     * transacciones usa step-mode=remote; con transporte local debe estar activo en la misma
+     * instancia que lanza los jobs.
+     */
+    private Boolean worker;
+
+    /**
+     * Indica si esta instancia atiende solicitudes de partición (ver {@link #worker}).
+     */
+    public boolean isWorkerEnabled(JobSettings transaction) {
+      return worker != null ? worker : transaction.getStepMode() == StepMode.REMOTE;
+    }
+
+    /**
+     * Particiones que un worker ejecuta a la vez.
+     */
+    private int workerConcurrency = 4;
+
+    /**
+     * Intervalo con que el worker revisa el canal y el manager consulta en el JobRepository el
+     * estado de las particiones.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Tiempo máximo que el manager espera a que terminen todas las particiones; con 0, sin límite.
+     */
+    private Duration timeout = Duration.ZERO;
+  }
+
+  @Data
+  public static class Inbox {
+
+    /**
+     * Vigila el directorio y lanza un job por cada archivo que llega.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directorio de entrada. Los archivos procesados se mueven a {@code done/} y los de
+     * ejecuciones fallidas a {@code error/}, dentro del mismo directorio.
+     */
+    private Path directory = Path.of("inbox");
+
+    /**
+     * Job que procesa cada archivo, según el patrón glob de su nombre. Los archivos que no
+     * coinciden con ningún patrón (por ejemplo, los que aún se están copiando con otra
+     * extensión) se ignoran.
+     */
+    private Map<String, String> jobs = new LinkedHashMap<>(Map.of(
+      "transacciones*.csv", "transactionJob",
+      "intereses*.csv", "interestJob",
+      "cuentas_anuales*.csv", "annualAccountJob"));
+
+    /**
+     * Archivos que se procesan a la vez; los demás esperan en cola.
+     */
+    private int maxConcurrentFiles = 2;
+
+    /**
+     * Tiempo durante el que el tamaño de un archivo nuevo no debe cambiar para considerarlo
+     * completo antes de procesarlo.
+     */
+    private Duration settleTime = Duration.ofMillis(500);
+  }
+
+  @Data
+  public static class JobSettings {
+
+    /**
+     * Archivo CSV de entrada (admite prefijos classpath: y file:).
+     */
+    private Resource input;
+
+    /**
+     * Ingesta incremental: si el archivo no cambió desde la última ejecución completada el job
+     * termina sin procesarlo, y si solo se le agregaron líneas al final se procesan solo esas.
+     */
+    private boolean incremental = false;
+
+    /**
+     * Estrategia de escritura en la base de datos.
+     */
+    private WriterMode writer = WriterMode.JPA;
+
+    /**
+     * Modo de ejecución del step de ingesta.
+     */
+    private StepMode stepMode = StepMode.MULTI_THREADED;
+
+    /**
+     * Número de particiones en que se divide el archivo en modo particionado.
+     */
+    private int gridSize = 10;
+
+    /**
+     * Registros por chunk, es decir, por transacción (intervalo de commit).
+     * Se puede sobrescribir por ejecución con el parámetro de job chunkSize.
+     */
+    private int chunkSize = 10;
+
+    /**
+     * Tamaño de chunk fijo o adaptativo.
+     */
+    private ChunkMode chunkMode = ChunkMode.FIXED;
+
+    /**
+     * Tamaño máximo de chunk en modo adaptativo.
+     */
+    private int maxChunkSize = 1000;
+
+    /**
+     * Duración de chunk (incluido el commit) bajo la cual el modo adaptativo aumenta el tamaño.
+     */
+    private Duration targetCommitLatency = Duration.ofMillis(500);
+
+    /**
+     * Registros inválidos que se pueden omitir antes de que el step falle
+     * (en modo particionado, por partición).
+     */
+    private int skipLimit = 1000;
+
+    /**
+     * Intentos adicionales de un chunk cuya escritura falla por un error transitorio de la base
+     * (bloqueo, timeout, conexión perdida) antes de que el step falle. Solo en el job de intereses.
+     */
+    private int retryLimit = 3;
+
+    /**
+     * Tratamiento de los registros que no pasan la validación del processor.
+     */
+    private RejectionMode rejectionMode = RejectionMode.SKIP;
+
+    /**
+     * Hilos que ejecutan los chunks (modo multi-hilo y pipelined) o las particiones (modo particionado).
+     */
+    private ExecutorMode executor = ExecutorMode.PLATFORM;
+
+    /**
+     * Hilos del pool en modo plataforma.
+     */
+    private int poolSize = 10;
+
+    /**
+     * Máximo de chunks simultáneos del step multi-hilo. Con 0 se usa el valor por defecto
+     * de Spring Batch (4) en modo plataforma y el límite de concurrencia en modo virtual.
+     */
+    private int throttleLimit = 0;
+
+    /**
+     * Máximo de chunks o particiones simultáneos en modo virtual.
+     * Con 0 se usa el tamaño del pool de conexiones menos una.
+     */
+    private int concurrencyLimit = 0;
+
+    /**
+     * Hilos del pool que procesa los registros en modo pipelined. Con 0 se usa el número de procesadores.
+     */
+    private int processorThreads = 0;
+
+    /**
+     * Implementación del reader en modo multi-hilo.
+     */
+    private ReaderMode reader = ReaderMode.BLOCK;
+
+    /**
+     * Registros que el reader carga por bloque en una sola operación sincronizada.
+     */
+    private int readerBlockSize = 100;
+
+    /**
+     * Archivo de entrada de una ejecución: el del parámetro {@link #INPUT_FILE_PARAMETER} si
+     * se envió, o {@link #input}.
+     */
+    public Resource inputFor(String inputFile) {
+      return inputFile == null ? input : new FileSystemResource(inputFile);
+    }
+
+    static JobSettings forInput(String classpathLocation) {
+      JobSettings settings = new JobSettings();
+      settings.setInput(new ClassPathResource(classpathLocation));
+      return settings;
+    }
+  }
+
+  public enum WriterMode {
+    /** JpaItemWriter: merge por entidad dentro del contexto de persistencia. */
+    JPA,
+    /** Inserciones JDBC en batch, sin contexto de persistencia. */
+    JDBC,
+    /** Como JDBC, con INSERT ... ON DUPLICATE KEY UPDATE: recargar el mismo archivo no duplica filas. Solo transacciones. */
+    UPSERT,
+    /** Los chunks se escriben en archivos de staging y un step final los carga con LOAD DATA. Transacciones y cuentas anuales. */
+    BULK
+  }
+
+  public enum ReaderMode {
+    /** BufferedReader + DelimitedLineTokenizer, con entrega de líneas por bloques. */
+    BLOCK,
+    /** Archivo mapeado en memoria; los registros se interpretan directamente desde los bytes. */
+    MAPPED
+  }
+
+  public enum ChunkMode {
+    /** Tamaño de chunk constante. */
+    FIXED,
+    /** El tamaño se ajusta según la duración de cada chunk respecto de target-commit-latency. */
+    ADAPTIVE
+  }
+
+  public enum ExecutorMode {
+    /** Pool fijo de hilos de plataforma (pool-size). */
+    PLATFORM,
+    /** Un hilo virtual por tarea, con un límite de concurrencia ligado al pool de conexiones. */
+    VIRTUAL
+  }
+
+  public enum RejectionMode {
+    /** Se lanza InvalidDataException y el step lo omite: revierte el chunk y lo vuelve a procesar sin él. */
+    SKIP,
+    /** El registro se filtra (el processor devuelve null) y el rechazo se entrega a los skip listeners sin revertir el chunk. */
+    FILTER
+  }
+
+  public enum StepMode {
+    /** Un único step cuyos chunks se reparten entre los hilos del task executor. */
+    MULTI_THREADED,
+    /** El archivo se divide en rangos de líneas y cada partición tiene su propio reader. */
+    PARTITIONED,
+    /** Como PARTITIONED, pero las particiones se envían por un canal a los workers (ingestion.remote). Solo transacciones. */
+    REMOTE,
+    /**
+     * Como MULTI_THREADED, pero los registros se procesan en un pool de CPU (processor-threads) mientras los hilos del
+     * step leen y escriben. Transacciones y cuentas anuales.
+     */
+    PIPELINED
+  }
+
+  public enum MetadataMode {
+    /** Spring Batch estándar: el avance y el ExecutionContext del step se escriben en cada commit. */
+    FULL,
+    /** Las escrituras por commit se agrupan: se escriben como máximo una vez por flush-interval, y siempre al iniciar y terminar el step. */
+    WRITE_BEHIND
+  }
+
+  public enum Transport {
+    /** Cola en memoria: manager y worker en la misma instancia (pruebas y desarrollo). */
+    LOCAL,
+    /** Cola en la tabla INT_CHANNEL_MESSAGE de la base de datos compartida por todas las instancias. */
+    JDBC
+  }
+
+}
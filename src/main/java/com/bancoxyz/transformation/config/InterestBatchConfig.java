@@ -1,29 +1,55 @@
 package com.bancoxyz.transformation.config;
 
+import java.util.List;
 
+import javax.sql.DataSource;
 
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
-import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import com.bancoxyz.transformation.config.IngestionProperties.RejectionMode;
+import com.bancoxyz.transformation.config.IngestionProperties.StepMode;
 import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.incremental.InputChangeTasklet;
 import com.bancoxyz.transformation.listener.InterestSkipListener;
+import com.bancoxyz.transformation.listener.RejectionSummaryListener;
+import com.bancoxyz.transformation.listener.StepMetricsListener;
+import com.bancoxyz.transformation.listener.StepThroughputListener;
 import com.bancoxyz.transformation.listener.InterestJobCompletionListener;
 import com.bancoxyz.transformation.model.entity.Interest;
 import com.bancoxyz.transformation.model.input.InterestInput;
+import com.bancoxyz.transformation.partition.LineRangePartitioner;
+import com.bancoxyz.transformation.policy.ChunkSizePolicy;
+import com.bancoxyz.transformation.processor.FilteringItemProcessor;
 import com.bancoxyz.transformation.processor.InterestItemProcessor;
 import com.bancoxyz.transformation.reader.InterestItemReader;
+import com.bancoxyz.transformation.writer.BisectingItemWriter;
+import com.bancoxyz.transformation.writer.InterestJdbcItemWriter;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
 
 import jakarta.persistence.EntityManagerFactory;
 
@@ -35,62 +61,259 @@ public class InterestBatchConfig {
     return new InterestItemProcessor();
   }
 
+  /**
+   * Writer de intereses según ingestion.interest.writer: JPA (persist por entidad) o JDBC
+   * (batch sin contexto de persistencia). En modo JDBC un error de datos en la escritura se
+   * aísla dividiendo el chunk en mitades dentro de la misma transacción (BisectingItemWriter);
+   * en modo JPA el step lo aísla reescribiendo el chunk registro por registro.
+   */
   @Bean
-  public JpaItemWriter<Interest> interestWriter(EntityManagerFactory entityManagerFactory){
-    JpaItemWriter<Interest> writer = new JpaItemWriter<>();
-    writer.setEntityManagerFactory(entityManagerFactory);
-    return writer;
+  public ItemWriter<Interest> interestWriter(
+    EntityManagerFactory entityManagerFactory,
+    DataSource dataSource,
+    IngestionProperties ingestionProperties
+  ) {
+    return switch (ingestionProperties.getInterest().getWriter()) {
+      case JDBC -> new BisectingItemWriter<>(new InterestJdbcItemWriter(dataSource, entityManagerFactory), dataSource,
+        ingestionProperties.getInterest().getSkipLimit());
+      case JPA -> {
+        JpaItemWriter<Interest> writer = new JpaItemWriter<>();
+        writer.setEntityManagerFactory(entityManagerFactory);
+        writer.setUsePersist(true);
+        yield writer;
+      }
+      case UPSERT -> throw new IllegalStateException(
+        "ingestion.interest.writer=upsert no está soportado: los intereses no tienen una clave natural en el archivo");
+      case BULK -> throw new IllegalStateException(
+        "ingestion.interest.writer=bulk no está soportado: solo los jobs de transacciones y cuentas anuales tienen carga masiva");
+    };
   }
 
+  /**
+   * Archivo de registros omitidos; los skip listeners lo alimentan y se vuelca al terminar cada chunk.
+   */
   @Bean
-  public FlatFileItemWriter<Interest> interestErrorWriter() {
-    return new FlatFileItemWriterBuilder<Interest>()
-      .name("errorInterestWriter")
-      .resource(new FileSystemResource("errores-intereses.csv"))
-      .delimited()
-      .names("cuenta_id", "nombre", "saldo", "edad", "tipo")
-      .build();
+  public RejectedItemWriter<InterestInput> interestErrorWriter() {
+    return new RejectedItemWriter<>("errores-intereses.csv", "cuenta_id", "nombre", "saldo", "edad", "tipo");
   }
 
   @Bean
+  @SuppressWarnings("removal")
   public Step stepInterests(
     InterestItemReader interestReader,
     JobRepository jobRepository,
-    JpaItemWriter<Interest> itemWriter,
+    ItemWriter<Interest> itemWriter,
+    PlatformTransactionManager interestManager,
+    ChunkSizePolicy interestChunkSizePolicy,
+    InterestSkipListener interestSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    TaskExecutor interestTaskExecutor,
+    StepTaskExecutors stepTaskExecutors,
+    IngestionProperties ingestionProperties
+  ) {
+    return interestStepBuilder("interestStep", interestReader, jobRepository, itemWriter,
+        interestManager, interestChunkSizePolicy, interestSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getInterest())
+      .taskExecutor(interestTaskExecutor)
+      // El límite de chunks simultáneos solo se configura con este método (deprecado en Spring Batch 5)
+      .throttleLimit(stepTaskExecutors.throttleLimit(ingestionProperties.getInterest()))
+      .build();
+  }
+
+  /**
+   * Reader de una partición: lee únicamente el rango de registros [startLine, endLine)
+   * asignado por el partitioner y guarda su propia posición de reinicio.
+   */
+  @Bean
+  @StepScope
+  public FlatFileItemReader<InterestInput> interestPartitionReader(
+    @Value("#{stepExecutionContext['startLine']}") Integer startLine,
+    @Value("#{stepExecutionContext['endLine']}") Integer endLine,
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    IngestionProperties ingestionProperties
+  ) {
+    return InterestItemReader.builder(ingestionProperties.getInterest().inputFor(inputFile))
+      .currentItemCount(startLine)
+      .maxItemCount(endLine)
+      .build();
+  }
+
+  @Bean
+  public Step interestWorkerStep(
+    FlatFileItemReader<InterestInput> interestPartitionReader,
+    JobRepository jobRepository,
+    ItemWriter<Interest> itemWriter,
+    PlatformTransactionManager interestManager,
+    ChunkSizePolicy interestChunkSizePolicy,
+    InterestSkipListener interestSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties ingestionProperties
+  ) {
+    return interestStepBuilder("interestWorkerStep", interestPartitionReader, jobRepository, itemWriter,
+        interestManager, interestChunkSizePolicy, interestSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getInterest())
+      .build();
+  }
+
+  /**
+   * Divide en rangos de líneas el archivo de entrada de la ejecución.
+   */
+  @Bean
+  @StepScope
+  public Partitioner interestPartitioner(
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    IngestionProperties ingestionProperties
+  ) {
+    return new LineRangePartitioner(ingestionProperties.getInterest().inputFor(inputFile), 1, "interest." + InputChangeTasklet.START_RECORD);
+  }
+
+  @Bean
+  public Step interestPartitionedStep(
+    JobRepository jobRepository,
+    Step interestWorkerStep,
+    Partitioner interestPartitioner,
+    IngestionProperties ingestionProperties,
+    StepThroughputListener stepThroughputListener,
+    TaskExecutor interestTaskExecutor
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getInterest();
+    return new StepBuilder("interestPartitionedStep", jobRepository)
+      .partitioner("interestWorkerStep", interestPartitioner)
+      .step(interestWorkerStep)
+      .gridSize(settings.getGridSize())
+      .taskExecutor(interestTaskExecutor)
+      .listener(stepThroughputListener)
+      .build();
+  }
+
+  private SimpleStepBuilder<InterestInput, Interest> interestStepBuilder(
+    String stepName,
+    ItemReader<InterestInput> reader,
+    JobRepository jobRepository,
+    ItemWriter<Interest> itemWriter,
     PlatformTransactionManager interestManager,
-    InterestSkipListener interestSkipListener
+    ChunkSizePolicy chunkSizePolicy,
+    InterestSkipListener interestSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties.JobSettings settings
   ) {
-    return new StepBuilder("interestStep", jobRepository)
-      .<InterestInput, Interest>chunk(10, interestManager)
-      .reader(interestReader)
-      .processor(interestProcessor())
+    ItemProcessor<InterestInput, Interest> processor = settings.getRejectionMode() == RejectionMode.FILTER
+      ? new FilteringItemProcessor<>(interestProcessor(), List.of(interestSkipListener, stepMetricsListener, rejectionSummaryListener))
+      : interestProcessor();
+
+    return new StepBuilder(stepName, jobRepository)
+      .<InterestInput, Interest>chunk(chunkSizePolicy, interestManager)
+      .reader(reader)
+      .processor(processor)
       .writer(itemWriter)
       .faultTolerant()
+      // Errores transitorios de la base: se reintenta el chunk y, si persisten, el step falla en vez de omitirlo
+      .retry(TransientDataAccessException.class)
+      .retry(RecoverableDataAccessException.class)
+      .retryLimit(settings.getRetryLimit())
+      .backOffPolicy(retryBackOff())
+      .noSkip(TransientDataAccessException.class)
+      .noSkip(RecoverableDataAccessException.class)
       .skip(InvalidDataException.class)
       .skip(Exception.class) 
-      .skipLimit(1000)
+      .skipLimit(settings.getSkipLimit())
       .listener(interestSkipListener)
-      .taskExecutor(interestTaskExecutor())
+      .listener(stepThroughputListener)
+      // Como StepExecutionListener; Spring Batch los registra también para chunks, escrituras y omisiones
+      .listener((StepExecutionListener) stepMetricsListener)
+      .listener((StepExecutionListener) rejectionSummaryListener)
+      .listener(chunkSizePolicy)
+      .listener((StepExecutionListener) interestErrorWriter());
+  }
+
+  private static ExponentialBackOffPolicy retryBackOff() {
+    ExponentialBackOffPolicy backOff = new ExponentialBackOffPolicy();
+    backOff.setInitialInterval(100);
+    backOff.setMaxInterval(2000);
+    return backOff;
+  }
+
+  /**
+   * Tamaño de chunk del job: fijo, adaptativo o enviado como parámetro chunkSize. De step scope,
+   * para que cada ejecución del step (y cada partición) ajuste su propio tamaño.
+   */
+  @Bean
+  @StepScope
+  public ChunkSizePolicy interestChunkSizePolicy(IngestionProperties ingestionProperties) {
+    return new ChunkSizePolicy(ingestionProperties.getInterest());
+  }
+
+  @Bean
+  public TaskExecutor interestTaskExecutor(StepTaskExecutors stepTaskExecutors, IngestionProperties ingestionProperties) {
+    return stepTaskExecutors.create("Nº", ingestionProperties.getInterest());
+  }
+
+  /**
+   * Paso previo de la ingesta incremental: compara el archivo de entrada con el de la última ejecución completada.
+   */
+  @Bean
+  public Step interestInputCheckStep(
+    JobRepository jobRepository,
+    PlatformTransactionManager transactionManager,
+    JobExplorer jobExplorer,
+    IngestionProperties ingestionProperties
+  ) {
+    return new StepBuilder("interestInputCheckStep", jobRepository)
+      .tasklet(new InputChangeTasklet(jobExplorer, "interest", ingestionProperties.getInterest(), 1), transactionManager)
       .build();
   }
 
+  /**
+   * Ingesta de intereses: el step según step-mode, precedido en modo incremental por la
+   * comparación del archivo. La usan interestJob y el job combinado ingestionJob.
+   */
   @Bean
-  public ThreadPoolTaskExecutor interestTaskExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(10);
-    executor.setMaxPoolSize(10);
-    executor.setQueueCapacity(30);
-    executor.setThreadNamePrefix("Nº");
-    executor.initialize();
-    return executor;
+  public Flow interestFlow(
+    Step stepInterests,
+    Step interestPartitionedStep,
+    Step interestInputCheckStep,
+    IngestionProperties ingestionProperties
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getInterest();
+    if (settings.getStepMode() == StepMode.REMOTE) {
+      throw new IllegalStateException("ingestion.interest.step-mode=remote no está soportado: solo el job de transacciones tiene particionamiento remoto");
+    }
+    if (settings.getStepMode() == StepMode.PIPELINED) {
+      // Los errores de escritura se omiten registro por registro, y el step los recibiría como Future del processor
+      throw new IllegalStateException("ingestion.interest.step-mode=pipelined no está soportado: los intereses omiten errores de escritura por registro");
+    }
+    Step step = settings.getStepMode() == StepMode.PARTITIONED
+      ? interestPartitionedStep
+      : stepInterests;
+
+    FlowBuilder<Flow> builder = new FlowBuilder<>("interestFlow");
+    if (!settings.isIncremental()) {
+      return builder.start(step).build();
+    }
+    return builder
+      .start(interestInputCheckStep)
+      .on(InputChangeTasklet.UNCHANGED.getExitCode()).end()
+      .from(interestInputCheckStep).on("*").to(step)
+      .end();
   }
 
   @Bean
-  public Job interestJob(JobRepository jobRepository, Step stepInterests, InterestJobCompletionListener listener) {
+  public Job interestJob(
+    JobRepository jobRepository,
+    Flow interestFlow,
+    InterestJobCompletionListener listener
+  ) {
     return new JobBuilder("interestJob", jobRepository)
       .incrementer(new RunIdIncrementer())
       .listener(listener)
-      .start(stepInterests)
+      .start(interestFlow)
+      .end()
       .build();
   }
 
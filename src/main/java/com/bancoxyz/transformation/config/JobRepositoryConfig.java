@@ -0,0 +1,41 @@
+package com.bancoxyz.transformation.config;
+
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.config.IngestionProperties.MetadataMode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Escritura de los metadatos según ingestion.metadata.mode: en modo write-behind, el
+ * JobRepository de Spring Boot se envuelve en {@link WriteBehindJobRepository}, y así lo
+ * reciben los steps, el JobLauncher y el JobOperator.
+ */
+@Configuration
+public class JobRepositoryConfig {
+
+  @Bean
+  public static BeanPostProcessor writeBehindJobRepositoryPostProcessor(
+    ObjectProvider<IngestionProperties> ingestionProperties,
+    ObjectProvider<MeterRegistry> meterRegistry
+  ) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!(bean instanceof JobRepository jobRepository)) {
+          return bean;
+        }
+        IngestionProperties.Metadata metadata = ingestionProperties.getObject().getMetadata();
+        return metadata.getMode() == MetadataMode.WRITE_BEHIND
+          ? WriteBehindJobRepository.wrap(jobRepository, metadata.getFlushInterval(), meterRegistry.getObject())
+          : bean;
+      }
+    };
+  }
+
+}
@@ -0,0 +1,116 @@
+package com.bancoxyz.transformation.config;
+
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.integration.partition.BeanFactoryStepLocator;
+import org.springframework.batch.integration.partition.StepExecutionRequest;
+import org.springframework.batch.integration.partition.StepExecutionRequestHandler;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.Pollers;
+import org.springframework.integration.jdbc.store.JdbcChannelMessageStore;
+import org.springframework.integration.jdbc.store.channel.ChannelMessageStoreQueryProvider;
+import org.springframework.integration.jdbc.store.channel.H2ChannelMessageStoreQueryProvider;
+import org.springframework.integration.jdbc.store.channel.MySqlChannelMessageStoreQueryProvider;
+import org.springframework.integration.jdbc.store.channel.PostgresChannelMessageStoreQueryProvider;
+import org.springframework.integration.store.MessageGroupQueue;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Particionamiento remoto del job de transacciones (ingestion.transaction.step-mode=remote).
+ *
+ * El manager (transactionRemotePartitionedStep) divide el archivo, crea las ejecuciones de las
+ * particiones en el JobRepository y envía una solicitud por partición al canal
+ * transactionPartitionRequests; luego consulta el JobRepository hasta que todas terminan. Cada
+ * instancia worker (ingestion.remote.worker) toma solicitudes del canal y ejecuta
+ * transactionWorkerStep sobre la partición, que deja su resultado en el JobRepository.
+ *
+ * Con transporte local el canal es una cola en memoria y manager y worker son la misma
+ * instancia; con transporte JDBC la cola está en la base compartida y cualquier instancia de
+ * la aplicación puede atender las particiones.
+ */
+@Configuration
+public class RemotePartitioningConfig {
+
+  static final String REQUESTS_GROUP = "transactionPartitionRequests";
+
+  /** Espera entre la entrega de una solicitud a un hilo del worker y el siguiente intento de recibir otra. */
+  private static final Duration DISPATCH_DELAY = Duration.ofMillis(10);
+
+  @Bean
+  public QueueChannel transactionPartitionRequests(DataSource dataSource, IngestionProperties ingestionProperties) {
+    if (ingestionProperties.getRemote().getTransport() == IngestionProperties.Transport.LOCAL) {
+      return new QueueChannel();
+    }
+    JdbcChannelMessageStore store = new JdbcChannelMessageStore(dataSource);
+    store.setChannelMessageStoreQueryProvider(queryProvider(dataSource));
+    store.afterPropertiesSet();
+    return new QueueChannel(new MessageGroupQueue(store, REQUESTS_GROUP));
+  }
+
+  /**
+   * Worker: recibe las solicitudes de partición y ejecuta cada una en su propio hilo, hasta
+   * ingestion.remote.worker-concurrency a la vez. Mientras todos los hilos están ocupados no se
+   * reciben más solicitudes, así que las demás quedan en el canal para otros workers.
+   *
+   * Solo arranca si la instancia es worker (ingestion.remote.worker o, sin valor, step-mode=remote
+   * en el job de transacciones). El permiso del cupo de conexiones se toma al recibir una
+   * partición y no durante la espera en el canal, para que los hilos que esperan solicitudes no
+   * le quiten conexiones a los demás steps.
+   */
+  @Bean
+  public IntegrationFlow transactionPartitionWorker(
+    QueueChannel transactionPartitionRequests,
+    JobExplorer jobExplorer,
+    BeanFactory beanFactory,
+    ConnectionBudget connectionBudget,
+    IngestionProperties ingestionProperties
+  ) {
+    IngestionProperties.Remote remote = ingestionProperties.getRemote();
+
+    BeanFactoryStepLocator stepLocator = new BeanFactoryStepLocator();
+    stepLocator.setBeanFactory(beanFactory);
+    StepExecutionRequestHandler handler = new StepExecutionRequestHandler();
+    handler.setJobExplorer(jobExplorer);
+    handler.setStepLocator(stepLocator);
+
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("worker-");
+    executor.setConcurrencyLimit(remote.getWorkerConcurrency());
+
+    return IntegrationFlow.from(transactionPartitionRequests)
+      .handle(StepExecutionRequest.class, (request, headers) -> connectionBudget.call(() -> handler.handle(request)),
+        endpoint -> endpoint
+          .autoStartup(remote.isWorkerEnabled(ingestionProperties.getTransaction()))
+          .poller(Pollers.fixedDelay(DISPATCH_DELAY)
+            .receiveTimeout(remote.getPollInterval().toMillis())
+            .maxMessagesPerPoll(1)
+            .taskExecutor(executor)))
+      .nullChannel();
+  }
+
+  private static ChannelMessageStoreQueryProvider queryProvider(DataSource dataSource) {
+    String product;
+    try {
+      product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+    } catch (MetaDataAccessException e) {
+      throw new IllegalStateException("No se pudo determinar la base de datos del canal de particiones", e);
+    }
+    return switch (DatabaseDriver.fromProductName(product)) {
+      case MYSQL, MARIADB -> new MySqlChannelMessageStoreQueryProvider();
+      case H2 -> new H2ChannelMessageStoreQueryProvider();
+      case POSTGRESQL -> new PostgresChannelMessageStoreQueryProvider();
+      default -> throw new IllegalStateException("ingestion.remote.transport=jdbc no está soportado en " + product);
+    };
+  }
+
+}
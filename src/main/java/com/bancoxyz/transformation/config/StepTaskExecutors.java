@@ -0,0 +1,102 @@
+package com.bancoxyz.transformation.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.repeat.support.TaskExecutorRepeatTemplate;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.bancoxyz.transformation.config.IngestionProperties.ExecutorMode;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Crea el TaskExecutor de cada job según ingestion.<job>.executor.
+ *
+ * En modo virtual cada chunk (o partición) corre en su propio hilo virtual. Como cada uno
+ * mantiene una conexión durante su transacción, la concurrencia se limita al tamaño del pool
+ * de conexiones menos una, que queda libre para las actualizaciones del JobRepository del job.
+ *
+ * Todos los executors comparten además el {@link ConnectionBudget}, que limita las tareas
+ * simultáneas de todos los jobs en ejecución.
+ */
+@Component
+public class StepTaskExecutors {
+
+  private static final Logger logger = LoggerFactory.getLogger(StepTaskExecutors.class);
+
+  private static final int QUEUE_CAPACITY = 30;
+
+  private final DataSource dataSource;
+  private final ConnectionBudget connectionBudget;
+
+  public StepTaskExecutors(DataSource dataSource, ConnectionBudget connectionBudget) {
+    this.dataSource = dataSource;
+    this.connectionBudget = connectionBudget;
+  }
+
+  public TaskExecutor create(String threadNamePrefix, IngestionProperties.JobSettings settings) {
+    if (settings.getExecutor() == ExecutorMode.VIRTUAL) {
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+      executor.setVirtualThreads(true);
+      executor.setConcurrencyLimit(concurrencyLimit(settings));
+      executor.setTaskDecorator(connectionBudget);
+      return executor;
+    }
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(settings.getPoolSize());
+    executor.setMaxPoolSize(settings.getPoolSize());
+    executor.setQueueCapacity(QUEUE_CAPACITY);
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setTaskDecorator(connectionBudget);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Pool de CPU del modo pipelined, donde se procesan los registros de los chunks en curso. Sus
+   * tareas no usan conexiones, así que no pasan por el ConnectionBudget: un chunk que ya tiene su
+   * cupo no queda esperando a que se libere otro para procesar sus registros. La cola no necesita
+   * límite, ya que en ella hay como máximo throttle-limit chunks de registros.
+   */
+  public TaskExecutor createProcessorExecutor(String threadNamePrefix, IngestionProperties.JobSettings settings) {
+    int threads = settings.getProcessorThreads() > 0
+      ? settings.getProcessorThreads()
+      : Runtime.getRuntime().availableProcessors();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Chunks simultáneos del step multi-hilo: ingestion.<job>.throttle-limit o, si no se define,
+   * el valor por defecto de Spring Batch en modo plataforma y el límite del executor en modo virtual.
+   */
+  public int throttleLimit(IngestionProperties.JobSettings settings) {
+    if (settings.getThrottleLimit() > 0) {
+      return settings.getThrottleLimit();
+    }
+    return settings.getExecutor() == ExecutorMode.VIRTUAL
+      ? concurrencyLimit(settings)
+      : TaskExecutorRepeatTemplate.DEFAULT_THROTTLE_LIMIT;
+  }
+
+  private int concurrencyLimit(IngestionProperties.JobSettings settings) {
+    if (settings.getConcurrencyLimit() > 0) {
+      return settings.getConcurrencyLimit();
+    }
+    if (dataSource instanceof HikariDataSource hikari) {
+      return Math.max(1, hikari.getMaximumPoolSize() - 1);
+    }
+    logger.warn("El DataSource no es Hikari; se usa un límite de {} hilos virtuales", settings.getPoolSize());
+    return settings.getPoolSize();
+  }
+
+}
@@ -1,27 +1,58 @@
 package com.bancoxyz.transformation.config;
 
+import com.bancoxyz.transformation.config.IngestionProperties.RejectionMode;
+import com.bancoxyz.transformation.config.IngestionProperties.StepMode;
+import com.bancoxyz.transformation.config.IngestionProperties.WriterMode;
 import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.incremental.InputChangeTasklet;
+import com.bancoxyz.transformation.listener.RejectionSummaryListener;
+import com.bancoxyz.transformation.listener.StepMetricsListener;
+import com.bancoxyz.transformation.listener.StepThroughputListener;
 import com.bancoxyz.transformation.listener.TransactionJobCompletionListener;
 import com.bancoxyz.transformation.listener.TransactionSkipListener;
 import com.bancoxyz.transformation.model.entity.Transaction;
 import com.bancoxyz.transformation.model.input.TransactionInput;
+import com.bancoxyz.transformation.partition.LineRangePartitioner;
+import com.bancoxyz.transformation.policy.ChunkSizePolicy;
+import com.bancoxyz.transformation.processor.FilteringItemProcessor;
+import com.bancoxyz.transformation.processor.PipelinedItemProcessor;
 import com.bancoxyz.transformation.processor.TransactionItemProcessor;
 import com.bancoxyz.transformation.reader.TransactionItemReader;
+import com.bancoxyz.transformation.writer.BulkLoadTasklet;
+import com.bancoxyz.transformation.writer.PipelinedItemWriter;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
+import com.bancoxyz.transformation.writer.StagingFileItemWriter;
+import com.bancoxyz.transformation.writer.TransactionJdbcItemWriter;
 
 import jakarta.persistence.EntityManagerFactory;
+
+import java.util.List;
+import javax.sql.DataSource;
+
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.partition.RemotePartitioningManagerStepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
-import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.integration.channel.QueueChannel;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -32,62 +63,343 @@ public class TransactionBatchConfig {
     return new TransactionItemProcessor();
   }
 
+  /**
+   * Writer de transacciones según ingestion.transaction.writer: JPA (merge por entidad),
+   * JDBC (inserciones en batch sin contexto de persistencia), UPSERT (JDBC idempotente) o BULK
+   * (archivos de staging que carga transactionBulkLoadStep).
+   */
   @Bean
-  public JpaItemWriter<Transaction> transactionWriter(EntityManagerFactory entityManagerFactory) {
-    JpaItemWriter<Transaction> writer = new JpaItemWriter<>();
-    writer.setEntityManagerFactory(entityManagerFactory);
-    return writer;
+  public ItemWriter<Transaction> transactionWriter(
+    EntityManagerFactory entityManagerFactory,
+    DataSource dataSource,
+    IngestionProperties ingestionProperties
+  ) {
+    return switch (ingestionProperties.getTransaction().getWriter()) {
+      case JDBC -> new TransactionJdbcItemWriter(dataSource);
+      case UPSERT -> new TransactionJdbcItemWriter(dataSource, true);
+      case BULK -> new StagingFileItemWriter<Transaction>("transaction", ingestionProperties.getStagingDirectory(),
+        transaction -> new Object[] {transaction.getId(), transaction.getTransactionDate(), transaction.getAmount(), transaction.getType()});
+      case JPA -> {
+        JpaItemWriter<Transaction> writer = new JpaItemWriter<>();
+        writer.setEntityManagerFactory(entityManagerFactory);
+        yield writer;
+      }
+    };
   }
 
+  /**
+   * Archivo de registros omitidos; los skip listeners lo alimentan y se vuelca al terminar cada chunk.
+   */
   @Bean
-  public FlatFileItemWriter<TransactionInput> transactionErrorWriter() {
-    return new FlatFileItemWriterBuilder<TransactionInput>()
-      .name("errorTransactionWriter")
-      .resource(new FileSystemResource("errores-transacciones.csv"))
-      .delimited()
-      .names("id", "fecha", "monto", "tipo")
-      .build();
+  public RejectedItemWriter<TransactionInput> transactionErrorWriter() {
+    return new RejectedItemWriter<>("errores-transacciones.csv", "id", "fecha", "monto", "tipo");
   }
 
   @Bean
+  @SuppressWarnings("removal")
   public Step stepTransactions(
     TransactionItemReader transactionReader,
     JobRepository jobRepository,
-    JpaItemWriter<Transaction> itemWriter,
+    ItemWriter<Transaction> itemWriter,
+    PlatformTransactionManager transactionManager,
+    ChunkSizePolicy transactionChunkSizePolicy,
+    TransactionSkipListener transactionSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    TaskExecutor transactionTaskExecutor,
+    StepTaskExecutors stepTaskExecutors,
+    IngestionProperties ingestionProperties
+  ) {
+    return transactionStepBuilder("transactionStep", transactionReader, jobRepository, itemWriter,
+        transactionManager, transactionChunkSizePolicy, transactionSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getTransaction())
+      .taskExecutor(transactionTaskExecutor)
+      // El límite de chunks simultáneos solo se configura con este método (deprecado en Spring Batch 5)
+      .throttleLimit(stepTaskExecutors.throttleLimit(ingestionProperties.getTransaction()))
+      .build();
+  }
+
+  /**
+   * Step multi-hilo con el proceso desacoplado: los hilos del step (pool de I/O, hasta
+   * throttle-limit chunks en curso) leen y escriben, y los registros se procesan en paralelo en
+   * transactionProcessorExecutor. Los rechazos se filtran siempre, como con rejection-mode=filter.
+   */
+  @Bean
+  @SuppressWarnings("removal")
+  public Step transactionPipelinedStep(
+    TransactionItemReader transactionReader,
+    JobRepository jobRepository,
+    ItemWriter<Transaction> itemWriter,
+    PlatformTransactionManager transactionManager,
+    ChunkSizePolicy transactionChunkSizePolicy,
+    TransactionSkipListener transactionSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    TaskExecutor transactionTaskExecutor,
+    TaskExecutor transactionProcessorExecutor,
+    StepTaskExecutors stepTaskExecutors,
+    IngestionProperties ingestionProperties
+  ) {
+    PipelinedItemWriter<TransactionInput, Transaction> writer = new PipelinedItemWriter<>(itemWriter,
+      List.of(transactionSkipListener, stepMetricsListener, rejectionSummaryListener));
+    return transactionStepBuilder("transactionPipelinedStep", transactionReader,
+        new PipelinedItemProcessor<>(transactionProcessor(), transactionProcessorExecutor), writer,
+        jobRepository, transactionManager, transactionChunkSizePolicy, transactionSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getTransaction())
+      .taskExecutor(transactionTaskExecutor)
+      .throttleLimit(stepTaskExecutors.throttleLimit(ingestionProperties.getTransaction()))
+      .build();
+  }
+
+  /**
+   * Reader de una partición: lee únicamente el rango de registros [startLine, endLine)
+   * asignado por el partitioner y guarda su propia posición de reinicio.
+   */
+  @Bean
+  @StepScope
+  public FlatFileItemReader<TransactionInput> transactionPartitionReader(
+    @Value("#{stepExecutionContext['startLine']}") Integer startLine,
+    @Value("#{stepExecutionContext['endLine']}") Integer endLine,
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    IngestionProperties ingestionProperties
+  ) {
+    return TransactionItemReader.builder(ingestionProperties.getTransaction().inputFor(inputFile))
+      .currentItemCount(startLine)
+      .maxItemCount(endLine)
+      .build();
+  }
+
+  @Bean
+  public Step transactionWorkerStep(
+    FlatFileItemReader<TransactionInput> transactionPartitionReader,
+    JobRepository jobRepository,
+    ItemWriter<Transaction> itemWriter,
+    PlatformTransactionManager transactionManager,
+    ChunkSizePolicy transactionChunkSizePolicy,
+    TransactionSkipListener transactionSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties ingestionProperties
+  ) {
+    return transactionStepBuilder("transactionWorkerStep", transactionPartitionReader, jobRepository, itemWriter,
+        transactionManager, transactionChunkSizePolicy, transactionSkipListener, stepThroughputListener,
+        stepMetricsListener, rejectionSummaryListener, ingestionProperties.getTransaction())
+      .build();
+  }
+
+  /**
+   * Divide en rangos de líneas el archivo de entrada de la ejecución.
+   */
+  @Bean
+  @StepScope
+  public Partitioner transactionPartitioner(
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    IngestionProperties ingestionProperties
+  ) {
+    return new LineRangePartitioner(ingestionProperties.getTransaction().inputFor(inputFile), 1, "transaction." + InputChangeTasklet.START_RECORD);
+  }
+
+  @Bean
+  public Step transactionPartitionedStep(
+    JobRepository jobRepository,
+    Step transactionWorkerStep,
+    Partitioner transactionPartitioner,
+    IngestionProperties ingestionProperties,
+    StepThroughputListener stepThroughputListener,
+    TaskExecutor transactionTaskExecutor
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getTransaction();
+    return new StepBuilder("transactionPartitionedStep", jobRepository)
+      .partitioner("transactionWorkerStep", transactionPartitioner)
+      .step(transactionWorkerStep)
+      .gridSize(settings.getGridSize())
+      .taskExecutor(transactionTaskExecutor)
+      .listener(stepThroughputListener)
+      .build();
+  }
+
+  /**
+   * Manager del particionamiento remoto: las particiones se envían a los workers por
+   * transactionPartitionRequests y su estado se consulta en el JobRepository (ver RemotePartitioningConfig).
+   */
+  @Bean
+  public Step transactionRemotePartitionedStep(
+    JobRepository jobRepository,
+    JobExplorer jobExplorer,
+    Partitioner transactionPartitioner,
+    QueueChannel transactionPartitionRequests,
+    IngestionProperties ingestionProperties,
+    StepThroughputListener stepThroughputListener
+  ) {
+    IngestionProperties.Remote remote = ingestionProperties.getRemote();
+    RemotePartitioningManagerStepBuilder builder = new RemotePartitioningManagerStepBuilder("transactionRemotePartitionedStep", jobRepository)
+      .partitioner("transactionWorkerStep", transactionPartitioner)
+      .gridSize(ingestionProperties.getTransaction().getGridSize())
+      .outputChannel(transactionPartitionRequests)
+      .jobExplorer(jobExplorer)
+      .pollInterval(remote.getPollInterval().toMillis());
+    if (!remote.getTimeout().isZero()) {
+      builder.timeout(remote.getTimeout().toMillis());
+    }
+    return builder
+      .listener(stepThroughputListener)
+      .build();
+  }
+
+  private SimpleStepBuilder<TransactionInput, Transaction> transactionStepBuilder(
+    String stepName,
+    ItemReader<TransactionInput> reader,
+    JobRepository jobRepository,
+    ItemWriter<Transaction> itemWriter,
+    PlatformTransactionManager transactionManager,
+    ChunkSizePolicy chunkSizePolicy,
+    TransactionSkipListener transactionSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties.JobSettings settings
+  ) {
+    ItemProcessor<TransactionInput, Transaction> processor = settings.getRejectionMode() == RejectionMode.FILTER
+      ? new FilteringItemProcessor<>(transactionProcessor(), List.of(transactionSkipListener, stepMetricsListener, rejectionSummaryListener))
+      : transactionProcessor();
+
+    return transactionStepBuilder(stepName, reader, processor, itemWriter, jobRepository, transactionManager, chunkSizePolicy,
+      transactionSkipListener, stepThroughputListener, stepMetricsListener, rejectionSummaryListener, settings);
+  }
+
+  private <O> SimpleStepBuilder<TransactionInput, O> transactionStepBuilder(
+    String stepName,
+    ItemReader<TransactionInput> reader,
+    ItemProcessor<TransactionInput, O> processor,
+    ItemWriter<O> itemWriter,
+    JobRepository jobRepository,
     PlatformTransactionManager transactionManager,
-    TransactionSkipListener transactionSkipListener
+    ChunkSizePolicy chunkSizePolicy,
+    TransactionSkipListener transactionSkipListener,
+    StepThroughputListener stepThroughputListener,
+    StepMetricsListener stepMetricsListener,
+    RejectionSummaryListener rejectionSummaryListener,
+    IngestionProperties.JobSettings settings
   ) {
-    return new StepBuilder("transactionStep", jobRepository)
-      .<TransactionInput, Transaction>chunk(10, transactionManager)
-      .reader(transactionReader)
-      .processor(transactionProcessor())
+    return new StepBuilder(stepName, jobRepository)
+      .<TransactionInput, O>chunk(chunkSizePolicy, transactionManager)
+      .reader(reader)
+      .processor(processor)
       .writer(itemWriter)
       .faultTolerant()
       .skip(InvalidDataException.class)
-      .skipLimit(1000)
+      .skipLimit(settings.getSkipLimit())
       .listener(transactionSkipListener)
-      .taskExecutor(transactionTaskExecutor())
+      .listener(stepThroughputListener)
+      // Como StepExecutionListener; Spring Batch los registra también para chunks, escrituras y omisiones
+      .listener((StepExecutionListener) stepMetricsListener)
+      .listener((StepExecutionListener) rejectionSummaryListener)
+      .listener(chunkSizePolicy)
+      .listener((StepExecutionListener) transactionErrorWriter());
+  }
+
+  /**
+   * Tamaño de chunk del job: fijo, adaptativo o enviado como parámetro chunkSize. De step scope,
+   * para que cada ejecución del step (y cada partición) ajuste su propio tamaño.
+   */
+  @Bean
+  @StepScope
+  public ChunkSizePolicy transactionChunkSizePolicy(IngestionProperties ingestionProperties) {
+    return new ChunkSizePolicy(ingestionProperties.getTransaction());
+  }
+
+  @Bean
+  public TaskExecutor transactionTaskExecutor(StepTaskExecutors stepTaskExecutors, IngestionProperties ingestionProperties) {
+    return stepTaskExecutors.create("Nº", ingestionProperties.getTransaction());
+  }
+
+  @Bean
+  public TaskExecutor transactionProcessorExecutor(StepTaskExecutors stepTaskExecutors, IngestionProperties ingestionProperties) {
+    return stepTaskExecutors.createProcessorExecutor("proceso-", ingestionProperties.getTransaction());
+  }
+
+
+  /**
+   * Paso previo de la ingesta incremental: compara el archivo de entrada con el de la última ejecución completada.
+   */
+  @Bean
+  public Step transactionInputCheckStep(
+    JobRepository jobRepository,
+    PlatformTransactionManager transactionManager,
+    JobExplorer jobExplorer,
+    IngestionProperties ingestionProperties
+  ) {
+    return new StepBuilder("transactionInputCheckStep", jobRepository)
+      .tasklet(new InputChangeTasklet(jobExplorer, "transaction", ingestionProperties.getTransaction(), 1), transactionManager)
       .build();
   }
 
+  /**
+   * Modo bulk: carga en tbl_transactions los archivos de staging que escribió el step de ingesta.
+   */
   @Bean
-  public ThreadPoolTaskExecutor transactionTaskExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(10);
-    executor.setMaxPoolSize(10);
-    executor.setQueueCapacity(30);
-    executor.setThreadNamePrefix("Nº");
-    executor.initialize();
-    return executor;
+  public Step transactionBulkLoadStep(
+    JobRepository jobRepository,
+    PlatformTransactionManager transactionManager,
+    JobExplorer jobExplorer,
+    DataSource dataSource
+  ) {
+    return new StepBuilder("transactionBulkLoadStep", jobRepository)
+      .tasklet(new BulkLoadTasklet(jobExplorer, dataSource, transactionManager, "transaction", BulkLoadTasklet.Target.TRANSACTIONS), transactionManager)
+      .build();
   }
 
+  /**
+   * Ingesta de transacciones: el step según step-mode (multi-hilo, pipelined, particionado o
+   * particionado remoto), precedido en modo incremental por la comparación del archivo y seguido en modo bulk
+   * por la carga de los archivos de staging. La usan transactionJob y el job combinado ingestionJob.
+   */
+  @Bean
+  public Flow transactionFlow(
+    Step stepTransactions,
+    Step transactionPipelinedStep,
+    Step transactionPartitionedStep,
+    Step transactionRemotePartitionedStep,
+    Step transactionInputCheckStep,
+    Step transactionBulkLoadStep,
+    IngestionProperties ingestionProperties
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getTransaction();
+    Step step = switch (settings.getStepMode()) {
+      case PARTITIONED -> transactionPartitionedStep;
+      case REMOTE -> transactionRemotePartitionedStep;
+      case MULTI_THREADED -> stepTransactions;
+      case PIPELINED -> transactionPipelinedStep;
+    };
+
+    FlowBuilder<Flow> builder = new FlowBuilder<>("transactionFlow");
+    if (settings.isIncremental()) {
+      builder.start(transactionInputCheckStep)
+        .on(InputChangeTasklet.UNCHANGED.getExitCode()).end()
+        .from(transactionInputCheckStep).on("*").to(step);
+    } else {
+      builder.start(step);
+    }
+    if (settings.getWriter() == WriterMode.BULK) {
+      builder.next(transactionBulkLoadStep);
+    }
+    return builder.build();
+  }
 
   @Bean
-  public Job transactionJob(JobRepository jobRepository, Step stepTransactions, TransactionJobCompletionListener listener) {
+  public Job transactionJob(
+    JobRepository jobRepository,
+    Flow transactionFlow,
+    TransactionJobCompletionListener listener
+  ) {
     return new JobBuilder("transactionJob", jobRepository)
       .incrementer(new RunIdIncrementer())
       .listener(listener)
-      .start(stepTransactions)
+      .start(transactionFlow)
+      .end()
       .build();
   }
 
@@ -0,0 +1,122 @@
+package com.bancoxyz.transformation.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Escritura diferida de los metadatos de los steps (ingestion.metadata.mode=write-behind).
+ *
+ * Spring Batch llama a {@code update(StepExecution)} y {@code updateExecutionContext(StepExecution)}
+ * en cada commit: un UPDATE de BATCH_STEP_EXECUTION, un SELECT del estado del job (para detectar
+ * una solicitud de detención) y un UPDATE de BATCH_STEP_EXECUTION_CONTEXT por chunk. Mientras el
+ * step está en ejecución, estas llamadas se escriben como máximo una vez por {@code flushInterval}
+ * y las demás se descartan: la siguiente que se escribe lleva el estado acumulado. Las llamadas con
+ * el step en cualquier otro estado (inicio, fin, fallo, detención) se escriben siempre, al igual
+ * que el resto de las operaciones del JobRepository.
+ *
+ * Consecuencias: la consulta de una ejecución en curso muestra el avance con hasta
+ * {@code flushInterval} de retraso, una detención se detecta en la siguiente escritura, y si el
+ * proceso se interrumpe sin que el step termine, el reinicio parte de la última posición escrita
+ * y vuelve a procesar los chunks posteriores.
+ */
+public class WriteBehindJobRepository implements MethodInterceptor {
+
+  private static final Logger logger = LoggerFactory.getLogger(WriteBehindJobRepository.class);
+
+  private final long flushIntervalNanos;
+  private final Counter written;
+  private final Counter deferred;
+  private final Map<Long, StepState> steps = new ConcurrentHashMap<>();
+
+  WriteBehindJobRepository(Duration flushInterval, MeterRegistry meterRegistry) {
+    this.flushIntervalNanos = flushInterval.toNanos();
+    this.written = counter(meterRegistry, "written");
+    this.deferred = counter(meterRegistry, "deferred");
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("ingestion.metadata.updates")
+      .description("Actualizaciones del avance de los steps en el JobRepository, escritas o diferidas")
+      .tag("result", result)
+      .register(meterRegistry);
+  }
+
+  /**
+   * JobRepository que delega en {@code jobRepository} con las actualizaciones de los steps diferidas.
+   */
+  public static JobRepository wrap(JobRepository jobRepository, Duration flushInterval, MeterRegistry meterRegistry) {
+    ProxyFactory proxyFactory = new ProxyFactory(jobRepository);
+    proxyFactory.addInterface(JobRepository.class);
+    proxyFactory.addAdvice(new WriteBehindJobRepository(flushInterval, meterRegistry));
+    return (JobRepository) proxyFactory.getProxy();
+  }
+
+  @Override
+  public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+    Object[] arguments = invocation.getArguments();
+    String method = invocation.getMethod().getName();
+    if (arguments.length == 1 && arguments[0] instanceof StepExecution stepExecution && stepExecution.getId() != null
+        && (method.equals("update") || method.equals("updateExecutionContext"))) {
+      return shouldWrite(stepExecution, method.equals("update")) ? invocation.proceed() : null;
+    }
+    return invocation.proceed();
+  }
+
+  private boolean shouldWrite(StepExecution stepExecution, boolean stepUpdate) {
+    if (stepExecution.getStatus() != BatchStatus.STARTED) {
+      StepState state = stepUpdate ? steps.remove(stepExecution.getId()) : steps.get(stepExecution.getId());
+      if (state != null) {
+        synchronized (state) {
+          state.written++;
+          if (stepUpdate) {
+            logger.info("Metadatos de {}: {} actualizaciones escritas, {} diferidas",
+              stepExecution.getStepName(), state.written, state.deferred);
+          }
+        }
+      }
+      written.increment();
+      return true;
+    }
+
+    StepState state = steps.computeIfAbsent(stepExecution.getId(), id -> new StepState());
+    synchronized (state) {
+      long now = System.nanoTime();
+      Long last = stepUpdate ? state.lastStepWrite : state.lastContextWrite;
+      if (last != null && now - last < flushIntervalNanos) {
+        state.deferred++;
+        deferred.increment();
+        return false;
+      }
+      if (stepUpdate) {
+        state.lastStepWrite = now;
+      } else {
+        state.lastContextWrite = now;
+      }
+      state.written++;
+      written.increment();
+      return true;
+    }
+  }
+
+  private static final class StepState {
+    private Long lastStepWrite;
+    private Long lastContextWrite;
+    private long written;
+    private long deferred;
+  }
+
+}
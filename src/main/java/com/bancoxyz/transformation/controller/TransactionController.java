@@ -1,14 +1,34 @@
 package com.bancoxyz.transformation.controller;
 
+import java.util.UUID;
+
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobExecutionNotRunningException;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.bancoxyz.transformation.model.response.JobExecutionResponse;
+import com.bancoxyz.transformation.policy.ChunkSizePolicy;
 
+/**
+ * Los jobs se lanzan de forma asíncrona (ver BatchLauncherConfig): cada POST responde 202 con
+ * el id de la ejecución, cuyo avance se consulta en /batch/executions/{id}.
+ */
 @RestController
 @RequestMapping("/batch")
 public class TransactionController {
@@ -16,6 +36,12 @@ public class TransactionController {
 	@Autowired
 	private JobLauncher jobLauncher;
 
+	@Autowired
+	private JobExplorer jobExplorer;
+
+	@Autowired
+	private JobOperator jobOperator;
+
 	@Autowired
 	private Job transactionJob;
 
@@ -25,47 +51,84 @@ public class TransactionController {
 	@Autowired
 	private Job annualAccountJob;
 
-	@PostMapping("/transaction-job")
-	public String runTransactionJob() {
-		try {
-			// Crear parámetros únicos para evitar restricciones de re-ejecución
-			JobParameters jobParameters = new JobParametersBuilder()
-					.addLong("time", System.currentTimeMillis())
-					.toJobParameters();
+	@Autowired
+	private Job ingestionJob;
 
-			jobLauncher.run(transactionJob, jobParameters);
-			return "Batch transacciones.csv ejecutado";
-		} catch (Exception e) {
-			return "Error al ejecutar el batch: " + e.getMessage();
+	/**
+	 * Parámetros distintos en cada llamada, incluso si dos llegan en el mismo milisegundo,
+	 * para que las ejecuciones concurrentes de un mismo job sean instancias independientes.
+	 */
+	private JobParameters uniqueParameters(Integer chunkSize) {
+		JobParametersBuilder builder = new JobParametersBuilder()
+			.addLong("time", System.currentTimeMillis())
+			.addString("runId", UUID.randomUUID().toString());
+		if (chunkSize != null) {
+			builder.addLong(ChunkSizePolicy.CHUNK_SIZE_PARAMETER, chunkSize.longValue());
 		}
+		return builder.toJobParameters();
 	}
 
-	@PostMapping("/interest-job")
-	public String runInterestJob() {
+	private ResponseEntity<JobExecutionResponse> launch(Job job, Integer chunkSize) {
 		try {
-			JobParameters jobParameters = new JobParametersBuilder()
-				.addLong("time", System.currentTimeMillis())
-				.toJobParameters();
-
-			jobLauncher.run(interestJob, jobParameters);
-			return "Batch intereses.csv ejecutado";
+			JobExecution jobExecution = jobLauncher.run(job, uniqueParameters(chunkSize));
+			return ResponseEntity.accepted().body(JobExecutionResponse.from(jobExecution));
 		} catch (Exception e) {
-			return "Error al ejecutar el batch: " + e.getMessage();
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al ejecutar el batch: " + e.getMessage(), e);
 		}
 	}
 
+	@PostMapping("/transaction-job")
+	public ResponseEntity<JobExecutionResponse> runTransactionJob(@RequestParam(required = false) Integer chunkSize) {
+		return launch(transactionJob, chunkSize);
+	}
+
+	@PostMapping("/interest-job")
+	public ResponseEntity<JobExecutionResponse> runInterestJob(@RequestParam(required = false) Integer chunkSize) {
+		return launch(interestJob, chunkSize);
+	}
+
 	@PostMapping("/annual-account-job")
-	public String runAnnualAccountJob() {
+	public ResponseEntity<JobExecutionResponse> runAnnualAccountJob(@RequestParam(required = false) Integer chunkSize) {
+		return launch(annualAccountJob, chunkSize);
+	}
+
+	/**
+	 * Carga los tres archivos en paralelo en una sola ejecución (ver IngestionJobConfig).
+	 */
+	@PostMapping("/ingestion-job")
+	public ResponseEntity<JobExecutionResponse> runIngestionJob(@RequestParam(required = false) Integer chunkSize) {
+		return launch(ingestionJob, chunkSize);
+	}
+
+	/**
+	 * Estado de una ejecución: conteos de lectura, escritura y omisión y rendimiento por step.
+	 */
+	@GetMapping("/executions/{executionId}")
+	public JobExecutionResponse getExecution(@PathVariable long executionId) {
+		return JobExecutionResponse.from(findExecution(executionId));
+	}
+
+	/**
+	 * Solicita detener una ejecución en curso; se detiene al terminar el chunk actual.
+	 */
+	@PostMapping("/executions/{executionId}/stop")
+	public JobExecutionResponse stopExecution(@PathVariable long executionId) {
 		try {
-			JobParameters jobParameters = new JobParametersBuilder()
-				.addLong("time", System.currentTimeMillis())
-				.toJobParameters();
+			jobOperator.stop(executionId);
+		} catch (NoSuchJobExecutionException e) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe la ejecución " + executionId, e);
+		} catch (JobExecutionNotRunningException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "La ejecución " + executionId + " no está en curso", e);
+		}
+		return JobExecutionResponse.from(findExecution(executionId));
+	}
 
-			jobLauncher.run(annualAccountJob, jobParameters);
-			return "Batch cuentas-anuales.csv ejecutado";
-		} catch (Exception e) {
-			return "Error al ejecutar el batch: " + e.getMessage();
+	private JobExecution findExecution(long executionId) {
+		JobExecution jobExecution = jobExplorer.getJobExecution(executionId);
+		if (jobExecution == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe la ejecución " + executionId);
 		}
+		return jobExecution;
 	}
 
 }
@@ -1,13 +1,58 @@
 package com.bancoxyz.transformation.exception;
 
+import java.util.function.Supplier;
+
+/**
+ * Registro de entrada que no cumple las reglas de validación.
+ *
+ * No captura la pila de llamadas: se lanza una vez por registro rechazado (en los archivos
+ * de origen, hasta un tercio de los registros) y la pila siempre sería la del processor,
+ * así que llenarla era el costo principal del rechazo sin aportar información. Por lo mismo, el
+ * mensaje se puede entregar como {@link Supplier} para armarlo solo si alguien lo lee.
+ */
 public class InvalidDataException extends Exception {
-  
+
+  private final RejectionReason reason;
+  private Supplier<String> lazyMessage;
+  private String message;
+
   public InvalidDataException(String message) {
-    super(message);
+    this(null, message);
+  }
+
+  public InvalidDataException(RejectionReason reason, String message) {
+    super(message, null, false, false);
+    this.reason = reason;
+  }
+
+  /**
+   * @param message mensaje, que se arma la primera vez que se lee
+   */
+  public InvalidDataException(RejectionReason reason, Supplier<String> message) {
+    super(null, null, false, false);
+    this.reason = reason;
+    this.lazyMessage = message;
   }
 
   public InvalidDataException(String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, false, false);
+    this.reason = null;
+  }
+
+  /**
+   * @return el motivo del rechazo, o {@code null} si no se indicó
+   */
+  public RejectionReason getReason() {
+    return reason;
   }
-  
+
+  @Override
+  public synchronized String getMessage() {
+    if (lazyMessage != null) {
+      message = lazyMessage.get();
+      lazyMessage = null;
+    }
+    return message != null ? message : super.getMessage();
+  }
+
 }
@@ -0,0 +1,24 @@
+package com.bancoxyz.transformation.exception;
+
+/**
+ * Motivo por el que un registro se rechaza en el procesamiento.
+ * Se usa como etiqueta de las métricas de registros omitidos.
+ */
+public enum RejectionReason {
+  MONTO_NULO,
+  MONTO_CERO,
+  FECHA_VACIA,
+  FECHA_INVALIDA,
+  NOMBRE_DESCONOCIDO,
+  SALDO_NULO,
+  TIPO_INVALIDO,
+  CUENTA_INVALIDA,
+  EDAD_INVALIDA;
+
+  /**
+   * Valor de la etiqueta {@code reason} de las métricas, por ejemplo {@code monto_nulo}.
+   */
+  public String tag() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,246 @@
+package com.bancoxyz.transformation.inbox;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.bancoxyz.transformation.config.IngestionProperties;
+
+/**
+ * Ingesta continua: vigila el directorio ingestion.inbox.directory con un WatchService y, por
+ * cada archivo que llega, lanza el job que corresponde a su nombre (ingestion.inbox.jobs) con la
+ * ruta del archivo en el parámetro {@link IngestionProperties#INPUT_FILE_PARAMETER}.
+ *
+ * Se procesan hasta ingestion.inbox.max-concurrent-files archivos a la vez; cada uno ejecuta su
+ * job de forma síncrona en un hilo propio (independiente del pool de los jobs lanzados desde la
+ * API) y al terminar se mueve a {@code done/} si el job se completó o a {@code error/} si no.
+ * Antes de lanzar el job se espera a que el tamaño del archivo deje de cambiar durante
+ * ingestion.inbox.settle-time, por si todavía se está copiando.
+ *
+ * Al iniciar se procesan los archivos que ya estaban en el directorio. Al detener la aplicación
+ * se terminan los archivos en curso; los que esperaban en cola quedan en el directorio.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ingestion.inbox", name = "enabled", havingValue = "true")
+public class InboxWatcher implements SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(InboxWatcher.class);
+
+  private static final int SHUTDOWN_TIMEOUT_SECONDS = 300;
+
+  private final IngestionProperties.Inbox settings;
+  private final List<Route> routes;
+  private final TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+  private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+
+  private Path done;
+  private Path error;
+  private ThreadPoolTaskExecutor executor;
+  private WatchService watchService;
+  private volatile boolean running;
+
+  public InboxWatcher(IngestionProperties ingestionProperties, JobRepository jobRepository, List<Job> jobs) {
+    this.settings = ingestionProperties.getInbox();
+    Map<String, Job> jobsByName = jobs.stream().collect(Collectors.toMap(Job::getName, Function.identity()));
+    this.routes = settings.getJobs().entrySet().stream()
+      .map(route -> new Route(
+        settings.getDirectory().getFileSystem().getPathMatcher("glob:" + route.getKey()),
+        requireJob(jobsByName, route.getValue())))
+      .toList();
+    jobLauncher.setJobRepository(jobRepository);
+    jobLauncher.setTaskExecutor(new SyncTaskExecutor());
+  }
+
+  private static Job requireJob(Map<String, Job> jobsByName, String name) {
+    Job job = jobsByName.get(name);
+    if (job == null) {
+      throw new IllegalStateException("ingestion.inbox.jobs: no existe el job " + name + " (jobs: " + jobsByName.keySet() + ")");
+    }
+    return job;
+  }
+
+  @Override
+  public void start() {
+    Path directory = settings.getDirectory();
+    try {
+      done = Files.createDirectories(directory.resolve("done"));
+      error = Files.createDirectories(directory.resolve("error"));
+      watchService = directory.getFileSystem().newWatchService();
+      directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+    } catch (IOException e) {
+      throw new IllegalStateException("No se pudo vigilar el directorio " + directory.toAbsolutePath(), e);
+    }
+
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(settings.getMaxConcurrentFiles());
+    executor.setMaxPoolSize(settings.getMaxConcurrentFiles());
+    executor.setThreadNamePrefix("inbox-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(SHUTDOWN_TIMEOUT_SECONDS);
+    executor.initialize();
+
+    running = true;
+    Thread.ofPlatform().name("inbox-watcher").daemon().start(this::watch);
+    logger.info("Vigilando el directorio {} ({} archivos a la vez)", directory.toAbsolutePath(), settings.getMaxConcurrentFiles());
+  }
+
+  private void watch() {
+    scan();
+    while (running) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          scan();
+        } else {
+          submit(settings.getDirectory().resolve((Path) event.context()));
+        }
+      }
+      if (!key.reset()) {
+        logger.error("El directorio {} dejó de estar disponible", settings.getDirectory().toAbsolutePath());
+        return;
+      }
+    }
+  }
+
+  private void scan() {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(settings.getDirectory())) {
+      files.forEach(this::submit);
+    } catch (IOException e) {
+      logger.error("No se pudo listar el directorio {}", settings.getDirectory().toAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Encola el archivo si tiene un job asociado y no está ya en cola o en proceso
+   * (el WatchService suele notificar varias veces un mismo archivo mientras se copia).
+   */
+  private void submit(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return;
+    }
+    Job job = jobFor(file);
+    if (job == null) {
+      logger.debug("{} no coincide con ningún patrón de ingestion.inbox.jobs", file.getFileName());
+      return;
+    }
+    if (pending.add(file)) {
+      executor.execute(() -> process(file, job));
+    }
+  }
+
+  private Job jobFor(Path file) {
+    Path name = file.getFileName();
+    for (Route route : routes) {
+      if (route.matcher().matches(name)) {
+        return route.job();
+      }
+    }
+    return null;
+  }
+
+  private void process(Path file, Job job) {
+    try {
+      awaitSettled(file);
+      JobExecution execution = jobLauncher.run(job, new JobParametersBuilder()
+        .addString(IngestionProperties.INPUT_FILE_PARAMETER, file.toAbsolutePath().toString())
+        .addLong("time", System.currentTimeMillis())
+        .addString("runId", UUID.randomUUID().toString())
+        .toJobParameters());
+      boolean completed = execution.getStatus() == BatchStatus.COMPLETED;
+      Path target = move(file, completed ? done : error);
+      logger.info("{}: {} (ejecución {}) terminó con estado {}; movido a {}",
+        file.getFileName(), job.getName(), execution.getId(), execution.getStatus(), target);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      logger.error("No se pudo procesar {}", file.getFileName(), e);
+      try {
+        move(file, error);
+      } catch (IOException moveError) {
+        logger.error("No se pudo mover {} a {}", file.getFileName(), error, moveError);
+      }
+    } finally {
+      pending.remove(file);
+    }
+  }
+
+  private void awaitSettled(Path file) throws IOException, InterruptedException {
+    long size;
+    long current = Files.size(file);
+    do {
+      size = current;
+      Thread.sleep(settings.getSettleTime().toMillis());
+      current = Files.size(file);
+    } while (current != size);
+  }
+
+  /**
+   * Mueve el archivo al directorio; si ya hay uno con el mismo nombre, se antepone la hora actual.
+   */
+  private static Path move(Path file, Path directory) throws IOException {
+    Path target = directory.resolve(file.getFileName());
+    if (Files.exists(target)) {
+      target = directory.resolve(System.currentTimeMillis() + "-" + file.getFileName());
+    }
+    return Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      logger.warn("No se pudo cerrar el WatchService de {}", settings.getDirectory(), e);
+    }
+    executor.getThreadPoolExecutor().getQueue().clear();
+    executor.shutdown();
+    pending.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private record Route(PathMatcher matcher, Job job) {
+  }
+
+}
@@ -0,0 +1,240 @@
+package com.bancoxyz.transformation.incremental;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Huella de un archivo de entrada: ruta, tamaño, fecha de modificación, hash de bloques
+ * muestreados, hash del contenido completo y cantidad de registros (líneas sin la cabecera).
+ *
+ * El hash muestreado cubre {@link #BLOCKS} bloques de {@link #BLOCK_SIZE} bytes repartidos de
+ * forma uniforme entre el inicio y el final del archivo (siempre incluye el primero y el último),
+ * así que se calcula leyendo como máximo 512 KB sea cual sea el tamaño del archivo. Junto con el
+ * tamaño y la fecha de modificación sirve para descartar rápido un archivo sin cambios.
+ *
+ * Para saber si el archivo actual es el anterior con líneas agregadas no basta con los bloques
+ * muestreados: una edición entre dos de ellos pasaría inadvertida. Por eso la huella guarda
+ * también el SHA-256 de todo el contenido, que se compara con el de los primeros {@code size}
+ * bytes del archivo actual. El hash se calcula en la misma pasada en que se cuentan las líneas.
+ */
+public final class FileFingerprint {
+
+  static final int BLOCK_SIZE = 64 * 1024;
+  static final int BLOCKS = 8;
+
+  private static final String PREFIX = "input.fingerprint.";
+
+  private final String path;
+  private final long size;
+  private final long lastModified;
+  private final String hash;
+  private final String contentHash;
+  private final long records;
+
+  FileFingerprint(String path, long size, long lastModified, String hash, String contentHash, long records) {
+    this.path = path;
+    this.size = size;
+    this.lastModified = lastModified;
+    this.hash = hash;
+    this.contentHash = contentHash;
+    this.records = records;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * @return el SHA-256 de todo el contenido, o {@code null} si la huella se guardó sin él
+   */
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  public long getRecords() {
+    return records;
+  }
+
+  /**
+   * Hash de los bloques muestreados de los primeros {@code length} bytes del archivo.
+   */
+  static String hash(FileChannel channel, long length) throws IOException {
+    MessageDigest digest = sha256();
+    ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+    long lastBlock = Math.max(0, length - BLOCK_SIZE);
+    long previousEnd = 0;
+    for (int i = 0; i < BLOCKS; i++) {
+      long start = Math.max(previousEnd, lastBlock * i / (BLOCKS - 1));
+      long end = Math.min(length, start + BLOCK_SIZE);
+      if (start >= end) {
+        break;
+      }
+      buffer.clear().limit((int) (end - start));
+      readFully(channel, buffer, start);
+      digest.update(buffer.flip());
+      previousEnd = end;
+    }
+    digest.update(ByteBuffer.allocate(Long.BYTES).putLong(0, length));
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Fin de archivo en el byte " + (position + buffer.position()));
+      }
+    }
+  }
+
+  /**
+   * Líneas desde el byte {@code from} hasta el final; una última línea sin salto de línea también cuenta.
+   */
+  static long countLines(FileChannel channel, long from) throws IOException {
+    return countLines(channel, from, null);
+  }
+
+  /**
+   * Como {@link #countLines(FileChannel, long)}, agregando además al {@code digest} (si no es
+   * {@code null}) los bytes leídos.
+   */
+  static long countLines(FileChannel channel, long from, MessageDigest digest) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+    long lines = 0;
+    boolean pendingLine = false;
+    long position = from;
+    int read;
+    while ((read = channel.read(buffer.clear(), position)) > 0) {
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          lines++;
+          pendingLine = false;
+        } else {
+          pendingLine = true;
+        }
+      }
+      if (digest != null) {
+        digest.update(buffer.flip());
+      }
+      position += read;
+    }
+    return pendingLine ? lines + 1 : lines;
+  }
+
+  /**
+   * Agrega al {@code digest} los bytes del archivo entre {@code from} (incluido) y {@code to}.
+   */
+  static void digest(FileChannel channel, long from, long to, MessageDigest digest) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+    for (long position = from; position < to; ) {
+      buffer.clear().limit((int) Math.min(BLOCK_SIZE, to - position));
+      readFully(channel, buffer, position);
+      position += buffer.position();
+      digest.update(buffer.flip());
+    }
+  }
+
+  /**
+   * Digest vacío para el hash del contenido completo.
+   */
+  static MessageDigest contentDigest() {
+    return sha256();
+  }
+
+  /**
+   * Hash de los bytes agregados hasta ahora al {@code digest}, sin reiniciarlo: se le pueden
+   * seguir agregando bytes.
+   */
+  static String contentHash(MessageDigest digest) {
+    try {
+      return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Si los primeros {@code length} bytes del archivo están vacíos o terminan en un salto de línea.
+   */
+  static boolean endsWithNewline(FileChannel channel, long length) throws IOException {
+    if (length == 0) {
+      return true;
+    }
+    ByteBuffer last = ByteBuffer.allocate(1);
+    return channel.read(last, length - 1) == 1 && last.get(0) == '\n';
+  }
+
+  static FileChannel open(Path file) throws IOException {
+    return FileChannel.open(file, StandardOpenOption.READ);
+  }
+
+  static long lastModified(Path file) throws IOException {
+    return Files.getLastModifiedTime(file).toMillis();
+  }
+
+  /**
+   * Guarda la huella en el contexto con claves {@code <feed>.input.fingerprint.*}, para que las
+   * de los distintos archivos de un mismo job no se mezclen.
+   */
+  void writeTo(ExecutionContext context, String feed) {
+    String prefix = feed + "." + PREFIX;
+    context.putString(prefix + "path", path);
+    context.putLong(prefix + "size", size);
+    context.putLong(prefix + "lastModified", lastModified);
+    context.putString(prefix + "hash", hash);
+    context.putString(prefix + "contentHash", contentHash);
+    context.putLong(prefix + "records", records);
+  }
+
+  /**
+   * @return la huella guardada en el contexto, o {@code null} si no tiene una
+   */
+  static FileFingerprint readFrom(ExecutionContext context, String feed) {
+    String prefix = feed + "." + PREFIX;
+    if (!context.containsKey(prefix + "hash")) {
+      return null;
+    }
+    return new FileFingerprint(
+      context.getString(prefix + "path"),
+      context.getLong(prefix + "size"),
+      context.getLong(prefix + "lastModified"),
+      context.getString(prefix + "hash"),
+      context.containsKey(prefix + "contentHash") ? context.getString(prefix + "contentHash") : null,
+      context.getLong(prefix + "records"));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return path + " (" + size + " bytes, " + records + " registros)";
+  }
+
+}
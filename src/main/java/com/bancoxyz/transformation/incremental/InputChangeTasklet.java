@@ -0,0 +1,168 @@
+package com.bancoxyz.transformation.incremental;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.config.IngestionProperties;
+
+/**
+ * Primer step de un job en modo incremental: compara el archivo de entrada con la huella
+ * ({@link FileFingerprint}) guardada en el ExecutionContext de la última ejecución completada
+ * del mismo job, en el JobRepository.
+ * <ul>
+ *   <li>Mismo archivo, tamaño, fecha de modificación y hash: termina con {@link #UNCHANGED}
+ *       y el job finaliza sin procesar nada.</li>
+ *   <li>El archivo creció y sus primeros bytes son exactamente el archivo anterior (mismo hash
+ *       de todo el contenido y las líneas nuevas empiezan tras un salto de línea): guarda en el contexto del job el registro
+ *       ({@link #START_RECORD}) y el byte ({@link #START_BYTE}) donde empiezan las líneas
+ *       agregadas, y el step de ingesta lee solo desde ahí.</li>
+ *   <li>En cualquier otro caso (primera ejecución, archivo reemplazado o editado, aunque además
+ *       tenga líneas agregadas, o huella anterior sin hash del contenido) se procesa completo.</li>
+ * </ul>
+ * En todos los casos la huella del archivo actual queda en el contexto del job para la próxima ejecución.
+ * Todas las claves llevan el prefijo del archivo ({@code feed}: transaction, interest o
+ * annualAccount), ya que un mismo job puede cargar varios archivos.
+ * Si el recurso no es un archivo del sistema de archivos, se procesa completo.
+ */
+public class InputChangeTasklet implements Tasklet {
+
+  private static final Logger logger = LoggerFactory.getLogger(InputChangeTasklet.class);
+
+  public static final ExitStatus UNCHANGED = new ExitStatus("UNCHANGED", "El archivo de entrada no cambió");
+
+  /** Clave del ExecutionContext del job, tras el prefijo del archivo: primer registro (sin la cabecera) a procesar. */
+  public static final String START_RECORD = "input.startRecord";
+
+  /** Clave del ExecutionContext del job, tras el prefijo del archivo: byte donde empieza {@link #START_RECORD}. */
+  public static final String START_BYTE = "input.startByte";
+
+  /** Instancias del job, de la más reciente hacia atrás, en que se busca la última ejecución completada. */
+  static final int INSTANCES_TO_SEARCH = 20;
+
+  private final JobExplorer jobExplorer;
+  private final String feed;
+  private final IngestionProperties.JobSettings settings;
+  private final int linesToSkip;
+
+  public InputChangeTasklet(JobExplorer jobExplorer, String feed, IngestionProperties.JobSettings settings, int linesToSkip) {
+    this.jobExplorer = jobExplorer;
+    this.feed = feed;
+    this.settings = settings;
+    this.linesToSkip = linesToSkip;
+  }
+
+  @Override
+  public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+    JobExecution jobExecution = chunkContext.getStepContext().getStepExecution().getJobExecution();
+    Resource input = settings.inputFor(jobExecution.getJobParameters().getString(IngestionProperties.INPUT_FILE_PARAMETER));
+
+    Path file;
+    try {
+      file = input.getFile().toPath().toAbsolutePath();
+    } catch (IOException e) {
+      logger.warn("{} no es un archivo del sistema de archivos: se procesa completo", input.getDescription());
+      return RepeatStatus.FINISHED;
+    }
+
+    FileFingerprint previous = lastFingerprint(jobExecution);
+    ExecutionContext jobContext = jobExecution.getExecutionContext();
+
+    try (FileChannel channel = FileFingerprint.open(file)) {
+      String path = file.toString();
+      long size = channel.size();
+      long lastModified = FileFingerprint.lastModified(file);
+      boolean samePath = previous != null && previous.getPath().equals(path);
+
+      if (samePath && size == previous.getSize() && lastModified == previous.getLastModified()
+          && FileFingerprint.hash(channel, size).equals(previous.getHash())) {
+        previous.writeTo(jobContext, feed);
+        logger.info("{} sin cambios desde la última ejecución: no se procesa", previous);
+        contribution.setExitStatus(UNCHANGED);
+        return RepeatStatus.FINISHED;
+      }
+
+      FileFingerprint current;
+      MessageDigest digest = FileFingerprint.contentDigest();
+      long appendStart = samePath ? appendStart(channel, size, previous, digest) : -1;
+      if (appendStart >= 0) {
+        long appended = FileFingerprint.countLines(channel, appendStart, digest);
+        current = new FileFingerprint(path, size, lastModified, FileFingerprint.hash(channel, size),
+          FileFingerprint.contentHash(digest), previous.getRecords() + appended);
+        jobContext.putLong(feed + "." + START_RECORD, previous.getRecords());
+        jobContext.putLong(feed + "." + START_BYTE, appendStart);
+        logger.info("{}: se procesan solo los {} registros agregados desde el byte {}", current, appended, appendStart);
+      } else {
+        digest.reset();
+        long records = Math.max(0, FileFingerprint.countLines(channel, 0, digest) - linesToSkip);
+        current = new FileFingerprint(path, size, lastModified, FileFingerprint.hash(channel, size),
+          FileFingerprint.contentHash(digest), records);
+        logger.info("{}: se procesa completo", current);
+      }
+      current.writeTo(jobContext, feed);
+    }
+    return RepeatStatus.FINISHED;
+  }
+
+  /**
+   * Byte donde empiezan las líneas agregadas al archivo desde la huella anterior, o -1 si no se
+   * puede probar que el archivo es el anterior con líneas agregadas al final: el hash de todo el
+   * contenido anterior debe coincidir con el de los primeros bytes del archivo actual, y si el
+   * archivo anterior no terminaba en un salto de línea, las líneas agregadas deben empezar con uno.
+   * Si devuelve el byte, el {@code digest} queda con el contenido hasta ese byte.
+   */
+  private static long appendStart(FileChannel channel, long size, FileFingerprint previous, MessageDigest digest)
+      throws IOException {
+    long start = previous.getSize();
+    if (previous.getContentHash() == null || size <= start) {
+      return -1;
+    }
+    if (!FileFingerprint.endsWithNewline(channel, start)) {
+      start++;
+      if (size <= start || !FileFingerprint.endsWithNewline(channel, start)) {
+        return -1;
+      }
+    }
+    FileFingerprint.digest(channel, 0, previous.getSize(), digest);
+    if (!FileFingerprint.contentHash(digest).equals(previous.getContentHash())) {
+      return -1;
+    }
+    FileFingerprint.digest(channel, previous.getSize(), start, digest);
+    return start;
+  }
+
+  /**
+   * Huella de la última ejecución completada del job, o {@code null} si no hay ninguna.
+   */
+  private FileFingerprint lastFingerprint(JobExecution jobExecution) {
+    String jobName = jobExecution.getJobInstance().getJobName();
+    for (JobInstance instance : jobExplorer.getJobInstances(jobName, 0, INSTANCES_TO_SEARCH)) {
+      for (JobExecution execution : jobExplorer.getJobExecutions(instance)) {
+        if (execution.getStatus() == BatchStatus.COMPLETED && !execution.getId().equals(jobExecution.getId())) {
+          FileFingerprint fingerprint = FileFingerprint.readFrom(execution.getExecutionContext(), feed);
+          if (fingerprint != null) {
+            return fingerprint;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+}
@@ -1,9 +1,5 @@
 package com.bancoxyz.transformation.listener;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.SkipListener;
@@ -12,12 +8,17 @@ import org.springframework.stereotype.Component;
 
 import com.bancoxyz.transformation.model.entity.AnnualAccount;
 import com.bancoxyz.transformation.model.input.AnnualAccountInput;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
 
 @Component
 public class AnnualAccountSkipListener implements SkipListener<AnnualAccountInput, AnnualAccount>{
  
   private static final Logger logger = LoggerFactory.getLogger(TransactionSkipListener.class);
-  public static final List<AnnualAccountInput> skippedItems = Collections.synchronizedList(new ArrayList<>());
+  private final RejectedItemWriter<AnnualAccountInput> errorWriter;
+
+  public AnnualAccountSkipListener(RejectedItemWriter<AnnualAccountInput> annualAccountErrorWriter) {
+    this.errorWriter = annualAccountErrorWriter;
+  }
 
   @Override
   public void onSkipInRead(@NonNull Throwable t) {
@@ -31,12 +32,7 @@ public class AnnualAccountSkipListener implements SkipListener<AnnualAccountInpu
 
   @Override
   public void onSkipInProcess(@NonNull AnnualAccountInput item, @NonNull Throwable t) {
-    logger.warn("Item omitido durante procesamiento: ", t.getMessage());
-
-    synchronized (skippedItems) {
-      skippedItems.add(item);
-      logger.debug("Total elementos omitidos hasta ahora: {}", skippedItems.size());
-    }
+    errorWriter.add(item);
   }
 
 }
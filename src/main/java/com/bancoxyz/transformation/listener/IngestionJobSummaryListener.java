@@ -0,0 +1,65 @@
+package com.bancoxyz.transformation.listener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.bancoxyz.transformation.config.ConnectionBudget;
+import com.bancoxyz.transformation.model.response.JobExecutionResponse;
+
+/**
+ * Resumen del job combinado (ingestionJob) al finalizar: duración total y filas por segundo
+ * de la ejecución completa y, por archivo, las de su step. La suma de las duraciones de los
+ * steps frente a la duración total muestra cuánto se ganó al cargarlos en paralelo.
+ */
+@Component
+public class IngestionJobSummaryListener implements JobExecutionListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(IngestionJobSummaryListener.class);
+
+  private final ConnectionBudget connectionBudget;
+
+  public IngestionJobSummaryListener(ConnectionBudget connectionBudget) {
+    this.connectionBudget = connectionBudget;
+  }
+
+  @Override
+  public void beforeJob(@NonNull JobExecution jobExecution) {
+    logger.info("Iniciando {} con un cupo de {} conexiones para los steps", jobExecution.getJobInstance().getJobName(), connectionBudget.getPermits());
+  }
+
+  @Override
+  public void afterJob(@NonNull JobExecution jobExecution) {
+    long written = 0;
+    long stepMillis = 0;
+    for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+      // Las particiones ya están sumadas en su step coordinador; los steps sin lectura son las comparaciones del modo incremental
+      if (stepExecution.getStepName().contains(":") || stepExecution.getReadCount() == 0) {
+        continue;
+      }
+      long millis = StepThroughputListener.elapsedMillis(stepExecution);
+      written += stepExecution.getWriteCount();
+      stepMillis += millis;
+      logger.info("  {}: {} escritos, {} omitidos en {} ms, filas/seg: {}",
+        stepExecution.getStepName(),
+        stepExecution.getWriteCount(),
+        stepExecution.getSkipCount(),
+        millis,
+        String.format("%.1f", StepThroughputListener.rowsPerSecond(stepExecution)));
+    }
+
+    long millis = JobExecutionResponse.elapsedMillis(jobExecution);
+    logger.info("Job {} finalizado con estado {} en {} ms - escritos: {}, filas/seg: {}, suma de los steps: {} ms",
+      jobExecution.getJobInstance().getJobName(),
+      jobExecution.getStatus(),
+      millis,
+      written,
+      String.format("%.1f", millis > 0 ? written * 1000.0 / millis : 0),
+      stepMillis);
+  }
+
+}
@@ -1,96 +1,63 @@
 package com.bancoxyz.transformation.listener;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Path;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
-import org.springframework.batch.item.Chunk;
-import org.springframework.batch.item.ExecutionContext;
-import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
-import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
 import com.bancoxyz.transformation.model.input.InterestInput;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
 
 @Component
 public class InterestJobCompletionListener implements JobExecutionListener {
-  
+
   private static final Logger logger = LoggerFactory.getLogger(InterestJobCompletionListener.class);
 
+  private final RejectedItemWriter<InterestInput> errorWriter;
+
+  public InterestJobCompletionListener(RejectedItemWriter<InterestInput> interestErrorWriter) {
+    this.errorWriter = interestErrorWriter;
+  }
+
   @Override
   public void beforeJob(@NonNull JobExecution jobExecution) {
     logger.info("Iniciando el Job: {}", jobExecution.getJobInstance().getJobName());
-    
-    // Limpiar la lista de registros omitidos del job anterior para evitar duplicaciones
-    InterestSkipListener.skippedItems.clear();
-    logger.info("Lista de registros omitidos limpiada para nueva ejecución");
-    
-    // Eliminar archivo de errores anterior si existe
+
     try {
-      java.io.File errorFile = new java.io.File("errores-intereses.csv");
-      if (errorFile.exists()) {
-        if (errorFile.delete()) {
-          logger.info("Archivo de errores anterior eliminado exitosamente");
-        } else {
-          logger.warn("No se pudo eliminar el archivo de errores anterior");
-        }
-      }
-    } catch (Exception e) {
-      logger.warn("Error al intentar eliminar archivo de errores anterior: {}", e.getMessage());
+      Path errorFile = errorWriter.open(jobExecution);
+      logger.info("Archivo de errores de la ejecución {}: {}", jobExecution.getId(), errorFile);
+    } catch (IOException e) {
+      logger.warn("Error al preparar el archivo de errores: {}", e.getMessage());
     }
   }
 
   @Override
   public void afterJob(@NonNull JobExecution jobExecution) {
-    logger.info("Job status: {}, items omitidos: {}", 
-                jobExecution.getStatus(), InterestSkipListener.skippedItems.size());
-                
+    long written = 0;
+    try {
+      written = errorWriter.close(jobExecution);
+    } catch (Exception e) {
+      logger.error("Error al escribir archivo de errores: {}", e.getMessage(), e);
+    }
+
+    logger.info("Job status: {}, items omitidos: {}", jobExecution.getStatus(), written);
+
     if (jobExecution.getStatus().isUnsuccessful()) {
       logger.error("Job finalizado con errores: {}", jobExecution.getJobInstance().getJobName());
     } else {
       logger.info("Job finalizado exitosamente: {}", jobExecution.getJobInstance().getJobName());
-      
-      List<InterestInput> skippedItems = InterestSkipListener.skippedItems;
-      logger.info("Iniciando escritura de {} registros inválidos al archivo CSV", skippedItems.size());
-
-      if (!skippedItems.isEmpty()) {
-        try {
-          FlatFileItemWriter<InterestInput> errorWriter = new FlatFileItemWriter<>();
-          errorWriter.setResource(new FileSystemResource("errores-intereses.csv"));
-          errorWriter.setHeaderCallback(writer -> writer.write("cuenta_id,nombre,saldo,edad,tipo"));
-
-          DelimitedLineAggregator<InterestInput> lineAggregator = new DelimitedLineAggregator<>();
-          lineAggregator.setDelimiter(",");
-
-          BeanWrapperFieldExtractor<InterestInput> fieldExtractor = new BeanWrapperFieldExtractor<>();
-          fieldExtractor.setNames(new String[]{"cuenta_id", "nombre", "saldo", "edad", "tipo"});
-          lineAggregator.setFieldExtractor(fieldExtractor);
-
-          errorWriter.setLineAggregator(lineAggregator);
-
-          errorWriter.open(new ExecutionContext());
+    }
 
-          Chunk<InterestInput> chunk = new Chunk<>(skippedItems);
-          errorWriter.write(chunk);
-          
-          // Cerrar writer
-          errorWriter.close();
-          
-          logger.info("Se escribieron {} registros omitidos en errores-transacciones.csv", skippedItems.size());
-        } catch (Exception e) {
-          logger.error("Error al escribir archivo de errores: {}", e.getMessage(), e);
-        }
-      } else {
-        logger.info("No hay registros omitidos para escribir");
-      }
+    if (written > 0) {
+      logger.info("Se escribieron {} registros omitidos en {}", written, errorWriter.fileFor(jobExecution.getId()));
+    } else {
+      logger.info("No hay datos inválidos para registrar");
     }
   }
 
-
-
 }
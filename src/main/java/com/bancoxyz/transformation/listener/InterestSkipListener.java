@@ -1,9 +1,5 @@
 package com.bancoxyz.transformation.listener;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.SkipListener;
@@ -12,12 +8,17 @@ import org.springframework.stereotype.Component;
 
 import com.bancoxyz.transformation.model.entity.Interest;
 import com.bancoxyz.transformation.model.input.InterestInput;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
 
 @Component
 public class InterestSkipListener implements SkipListener<InterestInput, Interest> {
 
   private static final Logger logger = LoggerFactory.getLogger(InterestSkipListener.class);
-  public static final List<InterestInput> skippedItems = Collections.synchronizedList(new ArrayList<>());
+  private final RejectedItemWriter<InterestInput> errorWriter;
+
+  public InterestSkipListener(RejectedItemWriter<InterestInput> interestErrorWriter) {
+    this.errorWriter = interestErrorWriter;
+  }
 
   @Override
   public void onSkipInRead(@NonNull Throwable t) {
@@ -29,11 +30,8 @@ public class InterestSkipListener implements SkipListener<InterestInput, Interes
     errorItem.setSaldo(null);
     errorItem.setEdad(0);
     errorItem.setTipo("ERROR");
-    
-    synchronized (skippedItems) {
-      skippedItems.add(errorItem);
-      logger.debug("Elemento de error de lectura agregado. Total elementos omitidos: {}", skippedItems.size());
-    }
+
+    errorWriter.add(errorItem);
   }
 
    @Override
@@ -43,12 +41,7 @@ public class InterestSkipListener implements SkipListener<InterestInput, Interes
 
   @Override
   public void onSkipInProcess(@NonNull InterestInput item, @NonNull Throwable t) {
-    logger.warn("Item omitido durante procesamiento: ID={}", item);
-    
-    synchronized (skippedItems) {
-      skippedItems.add(item);
-      logger.debug("Total elementos omitidos hasta ahora: {}", skippedItems.size());
-    }
+    errorWriter.add(item);
   }
 
 }
@@ -0,0 +1,123 @@
+package com.bancoxyz.transformation.listener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.bancoxyz.transformation.config.IngestionProperties;
+
+/**
+ * Registro de los rechazos sin una línea de log por registro:
+ * <ul>
+ *   <li>durante el chunk solo se cuentan los rechazos por motivo, en un mapa del hilo;</li>
+ *   <li>al terminar el chunk se registra un resumen (nivel DEBUG) y se acumula en el total del step;</li>
+ *   <li>al terminar el step se registra el total por motivo (nivel INFO);</li>
+ *   <li>uno de cada ingestion.rejection-log-sample rechazos se registra con su contenido (nivel WARN).</li>
+ * </ul>
+ * El detalle de todos los rechazados queda en el archivo de errores del job.
+ *
+ * Se registra en el step como StepExecutionListener, igual que StepMetricsListener.
+ */
+@Component
+public class RejectionSummaryListener
+  implements StepExecutionListener, ChunkListener, SkipListener<Object, Object> {
+
+  private static final Logger logger = LoggerFactory.getLogger(RejectionSummaryListener.class);
+
+  private final int sample;
+  private final ThreadLocal<Map<String, Integer>> chunkRejections = ThreadLocal.withInitial(HashMap::new);
+  private final Map<Long, StepRejections> stepRejections = new ConcurrentHashMap<>();
+
+  public RejectionSummaryListener(IngestionProperties ingestionProperties) {
+    this.sample = ingestionProperties.getRejectionLogSample();
+  }
+
+  @Override
+  public void onSkipInRead(@NonNull Throwable t) {
+    reject(null, t);
+  }
+
+  @Override
+  public void onSkipInProcess(@NonNull Object item, @NonNull Throwable t) {
+    reject(item, t);
+  }
+
+  @Override
+  public void onSkipInWrite(@NonNull Object item, @NonNull Throwable t) {
+    reject(item, t);
+  }
+
+  private void reject(Object item, Throwable t) {
+    String reason = StepMetricsListener.reason(t);
+    chunkRejections.get().merge(reason, 1, Integer::sum);
+
+    StepContext context = StepSynchronizationManager.getContext();
+    if (sample > 0 && context != null) {
+      long rejected = rejections(context.getStepExecution()).sampled.getAndIncrement();
+      if (rejected % sample == 0) {
+        logger.warn("Registro rechazado en {} ({}, muestra 1 de {}): {} - {}",
+          context.getStepName(), reason, sample, item, t.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    Map<String, Integer> rejections = chunkRejections.get();
+    if (rejections.isEmpty()) {
+      return;
+    }
+    StepExecution stepExecution = context.getStepContext().getStepExecution();
+    if (logger.isDebugEnabled()) {
+      logger.debug("Chunk de {}: rechazados {}", stepExecution.getStepName(), rejections);
+    }
+    StepRejections totals = rejections(stepExecution);
+    rejections.forEach((reason, count) -> totals.byReason.computeIfAbsent(reason, key -> new LongAdder()).add(count));
+    rejections.clear();
+  }
+
+  /**
+   * Un chunk con error se revierte y sus registros se vuelven a procesar; sus rechazos se cuentan entonces.
+   */
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    chunkRejections.get().clear();
+  }
+
+  @Override
+  public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+    StepRejections totals = stepRejections.remove(stepExecution.getId());
+    if (totals != null && !totals.byReason.isEmpty()) {
+      Map<String, Long> byReason = new TreeMap<>();
+      totals.byReason.forEach((reason, count) -> byReason.put(reason, count.sum()));
+      logger.info("Rechazos de {}: {}", stepExecution.getStepName(), byReason);
+    }
+    return stepExecution.getExitStatus();
+  }
+
+  private StepRejections rejections(StepExecution stepExecution) {
+    return stepRejections.computeIfAbsent(stepExecution.getId(), id -> new StepRejections());
+  }
+
+  private static final class StepRejections {
+    private final AtomicLong sampled = new AtomicLong();
+    private final Map<String, LongAdder> byReason = new ConcurrentHashMap<>();
+  }
+
+}
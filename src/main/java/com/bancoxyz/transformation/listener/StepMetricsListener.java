@@ -0,0 +1,173 @@
+package com.bancoxyz.transformation.listener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas de los steps de ingesta que Spring Batch no publica por sí mismo. Spring Batch ya
+ * registra spring.batch.item.read, spring.batch.item.process y spring.batch.chunk.write;
+ * este listener agrega:
+ * <ul>
+ *   <li>{@code ingestion.items.written}: registros escritos;</li>
+ *   <li>{@code ingestion.chunk.commit}: tiempo desde el fin de la escritura hasta el fin del commit
+ *       del chunk (incluye la actualización del JobRepository en la misma transacción);</li>
+ *   <li>{@code ingestion.skips}: registros omitidos por fase (read, process, write) y motivo.</li>
+ * </ul>
+ * Las etiquetas job y step usan el nombre del step sin el sufijo de partición. Los meters se
+ * registran una vez por ejecución del step, en beforeStep, y no en cada evento.
+ *
+ * Se registra en el step como StepExecutionListener: Spring Batch lo agrega también como
+ * ChunkListener, ItemWriteListener y SkipListener al detectar que implementa esas interfaces.
+ * (Registrado como ChunkListener no serviría: el step tolerante a fallos lo envuelve en un
+ * delegado que solo expone ChunkListener.)
+ */
+@Component
+public class StepMetricsListener
+  implements StepExecutionListener, ChunkListener, ItemWriteListener<Object>, SkipListener<Object, Object> {
+
+  private final MeterRegistry meterRegistry;
+  private final ThreadLocal<Long> writeEnd = new ThreadLocal<>();
+  private final Map<Long, StepMeters> stepMeters = new ConcurrentHashMap<>();
+
+  public StepMetricsListener(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void beforeStep(@NonNull StepExecution stepExecution) {
+    meters(stepExecution);
+  }
+
+  @Override
+  public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+    stepMeters.remove(stepExecution.getId());
+    return stepExecution.getExitStatus();
+  }
+
+  @Override
+  public void afterWrite(@NonNull Chunk<?> items) {
+    StepExecution stepExecution = currentStep();
+    if (stepExecution != null) {
+      meters(stepExecution).written.increment(items.size());
+    }
+    writeEnd.set(System.nanoTime());
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    Long start = writeEnd.get();
+    writeEnd.remove();
+    if (start != null) {
+      meters(context.getStepContext().getStepExecution()).commit.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    writeEnd.remove();
+  }
+
+  @Override
+  public void onSkipInRead(@NonNull Throwable t) {
+    countSkip("read", t);
+  }
+
+  @Override
+  public void onSkipInProcess(@NonNull Object item, @NonNull Throwable t) {
+    countSkip("process", t);
+  }
+
+  @Override
+  public void onSkipInWrite(@NonNull Object item, @NonNull Throwable t) {
+    countSkip("write", t);
+  }
+
+  private void countSkip(String phase, Throwable t) {
+    StepExecution stepExecution = currentStep();
+    if (stepExecution != null) {
+      meters(stepExecution).skip(phase, reason(t)).increment();
+    }
+  }
+
+  private StepMeters meters(StepExecution stepExecution) {
+    return stepMeters.computeIfAbsent(stepExecution.getId(), id -> new StepMeters(tags(stepExecution)));
+  }
+
+  /**
+   * Motivo del rechazo para InvalidDataException; para otros errores, el tipo de excepción.
+   */
+  static String reason(Throwable t) {
+    if (t instanceof InvalidDataException invalid && invalid.getReason() != null) {
+      return invalid.getReason().tag();
+    }
+    return t.getClass().getSimpleName();
+  }
+
+  private static StepExecution currentStep() {
+    StepContext context = StepSynchronizationManager.getContext();
+    return context == null ? null : context.getStepExecution();
+  }
+
+  private static Tags tags(StepExecution stepExecution) {
+    String stepName = stepExecution.getStepName();
+    int partition = stepName.indexOf(':');
+    return Tags.of(
+      "job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+      "step", partition < 0 ? stepName : stepName.substring(0, partition));
+  }
+
+  /**
+   * Meters de una ejecución de step, registrados en beforeStep (y los de omisiones la primera
+   * vez que aparece cada fase y motivo) para que cada evento solo incremente. Las particiones de
+   * un step tienen las mismas etiquetas y comparten los meters del registro.
+   */
+  private final class StepMeters {
+
+    private final Tags tags;
+    private final Counter written;
+    private final Timer commit;
+    private final Map<String, Map<String, Counter>> skips = new ConcurrentHashMap<>();
+
+    private StepMeters(Tags tags) {
+      this.tags = tags;
+      this.written = Counter.builder("ingestion.items.written")
+        .description("Registros escritos en la base de datos")
+        .tags(tags)
+        .register(meterRegistry);
+      this.commit = Timer.builder("ingestion.chunk.commit")
+        .description("Tiempo desde el fin de la escritura hasta el commit del chunk")
+        .tags(tags)
+        .register(meterRegistry);
+    }
+
+    private Counter skip(String phase, String reason) {
+      return skips.computeIfAbsent(phase, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(reason, key -> Counter.builder("ingestion.skips")
+          .description("Registros omitidos por fase y motivo")
+          .tags(tags.and("phase", phase, "reason", reason))
+          .register(meterRegistry));
+    }
+  }
+
+}
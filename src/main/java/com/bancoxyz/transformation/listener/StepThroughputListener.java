@@ -0,0 +1,55 @@
+package com.bancoxyz.transformation.listener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener que registra el rendimiento de cada step al finalizar:
+ * registros leídos, escritos, omitidos y filas escritas por segundo.
+ * Permite comparar estrategias de escritura ejecutando el mismo job con distinta configuración.
+ */
+@Component
+public class StepThroughputListener implements StepExecutionListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(StepThroughputListener.class);
+
+  @Override
+  public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+    long millis = elapsedMillis(stepExecution);
+    double rowsPerSecond = rowsPerSecond(stepExecution);
+
+    logger.info("Step {} finalizado en {} ms - leídos: {}, escritos: {}, omitidos: {}, commits: {}, filas/seg: {}",
+      stepExecution.getStepName(),
+      millis,
+      stepExecution.getReadCount(),
+      stepExecution.getWriteCount(),
+      stepExecution.getSkipCount(),
+      stepExecution.getCommitCount(),
+      String.format("%.1f", rowsPerSecond));
+
+    return stepExecution.getExitStatus();
+  }
+
+  /**
+   * Duración del step hasta su término o, si sigue en ejecución, hasta ahora.
+   */
+  public static long elapsedMillis(StepExecution stepExecution) {
+    LocalDateTime start = stepExecution.getStartTime();
+    LocalDateTime end = stepExecution.getEndTime() != null ? stepExecution.getEndTime() : LocalDateTime.now();
+    return start == null ? 0 : Duration.between(start, end).toMillis();
+  }
+
+  public static double rowsPerSecond(StepExecution stepExecution) {
+    long millis = elapsedMillis(stepExecution);
+    return millis > 0 ? stepExecution.getWriteCount() * 1000.0 / millis : 0;
+  }
+
+}
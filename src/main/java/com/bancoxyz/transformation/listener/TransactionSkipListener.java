@@ -8,24 +8,26 @@ import org.springframework.lang.NonNull;
 
 import com.bancoxyz.transformation.model.entity.Transaction;
 import com.bancoxyz.transformation.model.input.TransactionInput;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
 
 /**
  * Listener que captura los elementos que son omitidos (skipped) durante el procesamiento batch.
  * Este listener implementa SkipListener para manejar los diferentes tipos de skip que pueden
  * ocurrir en las fases de lectura, procesamiento y escritura del job de Spring Batch.
  * 
- * Los registros omitidos se almacenan en memoria para ser posteriormente escritos
- * en un archivo de errores al finalizar el job.
+ * Los registros omitidos se envían al RejectedItemWriter del job, que los escribe
+ * en el archivo de errores al terminar cada chunk. Los rechazos del processor no se
+ * registran uno a uno en el log: ver RejectionSummaryListener.
  */
 @Component
 public class TransactionSkipListener implements SkipListener<TransactionInput, Transaction> {
 
   private static final Logger logger = LoggerFactory.getLogger(TransactionSkipListener.class);
-  public static final List<TransactionInput> skippedItems = Collections.synchronizedList(new ArrayList<>());
+  private final RejectedItemWriter<TransactionInput> errorWriter;
+
+  public TransactionSkipListener(RejectedItemWriter<TransactionInput> transactionErrorWriter) {
+    this.errorWriter = transactionErrorWriter;
+  }
 
   
   @Override
@@ -40,11 +42,6 @@ public class TransactionSkipListener implements SkipListener<TransactionInput, T
 
   @Override
   public void onSkipInProcess(@NonNull TransactionInput item, @NonNull Throwable t) {
-    logger.warn("Item omitido durante procesamiento: {}", item, t.getMessage());
-    
-    synchronized (skippedItems) {
-      skippedItems.add(item);
-      logger.debug("Total elementos omitidos hasta ahora: {}", skippedItems.size());
-    }
+    errorWriter.add(item);
   }
 }
\ No newline at end of file
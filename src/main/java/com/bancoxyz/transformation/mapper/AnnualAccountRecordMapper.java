@@ -0,0 +1,23 @@
+package com.bancoxyz.transformation.mapper;
+
+import com.bancoxyz.transformation.model.input.AnnualAccountInput;
+import com.bancoxyz.transformation.reader.CsvRecord;
+
+/**
+ * Versión de AnnualAccountMapper para el reader mapeado en memoria.
+ * Columnas: cuenta_id, fecha, transaccion, monto, descripcion.
+ */
+public class AnnualAccountRecordMapper implements CsvRecordMapper<AnnualAccountInput> {
+
+  @Override
+  public AnnualAccountInput mapRecord(CsvRecord record) {
+    AnnualAccountInput input = new AnnualAccountInput();
+    input.setCuenta_id(record.readInt(0));
+    input.setFecha(record.readString(1));
+    input.setTransaccion(record.readString(2));
+    input.setMonto(record.readIntOrNull(3));
+    input.setDescripcion(record.readString(4));
+    return input;
+  }
+
+}
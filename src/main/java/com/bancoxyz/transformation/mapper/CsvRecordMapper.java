@@ -0,0 +1,14 @@
+package com.bancoxyz.transformation.mapper;
+
+import com.bancoxyz.transformation.reader.CsvRecord;
+
+/**
+ * Equivalente a FieldSetMapper para el reader mapeado en memoria:
+ * construye el input directamente desde los bytes del registro.
+ */
+@FunctionalInterface
+public interface CsvRecordMapper<T> {
+
+  T mapRecord(CsvRecord record);
+
+}
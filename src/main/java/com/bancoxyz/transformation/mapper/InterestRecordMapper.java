@@ -0,0 +1,23 @@
+package com.bancoxyz.transformation.mapper;
+
+import com.bancoxyz.transformation.model.input.InterestInput;
+import com.bancoxyz.transformation.reader.CsvRecord;
+
+/**
+ * Versión de InterestMapper para el reader mapeado en memoria.
+ * Columnas: cuenta_id, nombre, saldo, edad, tipo.
+ */
+public class InterestRecordMapper implements CsvRecordMapper<InterestInput> {
+
+  @Override
+  public InterestInput mapRecord(CsvRecord record) {
+    InterestInput input = new InterestInput();
+    input.setCuenta_id(record.readInt(0, 0));
+    input.setNombre(record.readString(1));
+    input.setSaldo(record.readIntOrNull(2));
+    input.setEdad(record.readInt(3, 0));
+    input.setTipo(record.readString(4));
+    return input;
+  }
+
+}
@@ -0,0 +1,22 @@
+package com.bancoxyz.transformation.mapper;
+
+import com.bancoxyz.transformation.model.input.TransactionInput;
+import com.bancoxyz.transformation.reader.CsvRecord;
+
+/**
+ * Versión de TransactionMapper para el reader mapeado en memoria.
+ * Columnas: id, fecha, monto, tipo.
+ */
+public class TransactionRecordMapper implements CsvRecordMapper<TransactionInput> {
+
+  @Override
+  public TransactionInput mapRecord(CsvRecord record) {
+    TransactionInput input = new TransactionInput();
+    input.setId(record.readLong(0));
+    input.setFecha(record.readString(1));
+    input.setMonto(record.readIntOrNull(2));
+    input.setTipo(record.readString(3));
+    return input;
+  }
+
+}
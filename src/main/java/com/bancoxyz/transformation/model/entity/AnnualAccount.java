@@ -7,6 +7,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,7 +20,15 @@ import lombok.NoArgsConstructor;
 @Table(name = "tbl_annual_accounts")
 public class AnnualAccount {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "annualAccountIdGenerator")
+  @TableGenerator(
+    name = "annualAccountIdGenerator",
+    table = "tbl_id_generators",
+    pkColumnName = "generator_name",
+    valueColumnName = "next_val",
+    pkColumnValue = "annual_account",
+    allocationSize = 50
+  )
   private Long id;
 
   private Integer accountId;
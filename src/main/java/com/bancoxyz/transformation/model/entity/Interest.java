@@ -5,6 +5,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,15 @@ import lombok.NoArgsConstructor;
 @Table(name = "tbl_interests")
 public class Interest {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "interestIdGenerator")
+  @TableGenerator(
+    name = "interestIdGenerator",
+    table = "tbl_id_generators",
+    pkColumnName = "generator_name",
+    valueColumnName = "next_val",
+    pkColumnValue = "interest",
+    allocationSize = 50
+  )
   private Long id;
 
   private Integer accountId;
@@ -0,0 +1,69 @@
+package com.bancoxyz.transformation.model.response;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.batch.core.JobExecution;
+
+import com.bancoxyz.transformation.writer.RejectedItemWriter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de una ejecución de job devuelto por la API.
+ * Los steps de partición (nombre "step:particion") se omiten porque el step que los
+ * coordina ya acumula sus conteos. El rendimiento total son los registros escritos por
+ * todos los steps sobre la duración de la ejecución completa, que en el job combinado
+ * (ingestionJob) carga los tres archivos en paralelo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class JobExecutionResponse {
+  private Long executionId;
+  private String jobName;
+  private String status;
+  private String exitCode;
+  private LocalDateTime startTime;
+  private LocalDateTime endTime;
+  private String errorFile;
+  private long elapsedMillis;
+  private double rowsPerSecond;
+  private List<StepExecutionResponse> steps;
+
+  public static JobExecutionResponse from(JobExecution jobExecution) {
+    List<StepExecutionResponse> steps = jobExecution.getStepExecutions().stream()
+      .filter(stepExecution -> !stepExecution.getStepName().contains(":"))
+      .map(StepExecutionResponse::from)
+      .toList();
+    long elapsedMillis = elapsedMillis(jobExecution);
+    long written = steps.stream().mapToLong(StepExecutionResponse::getWriteCount).sum();
+
+    return new JobExecutionResponse(
+      jobExecution.getId(),
+      jobExecution.getJobInstance().getJobName(),
+      jobExecution.getStatus().name(),
+      jobExecution.getExitStatus().getExitCode(),
+      jobExecution.getStartTime(),
+      jobExecution.getEndTime(),
+      jobExecution.getExecutionContext().getString(RejectedItemWriter.ERROR_FILE_KEY, null),
+      elapsedMillis,
+      elapsedMillis > 0 ? written * 1000.0 / elapsedMillis : 0,
+      steps
+    );
+  }
+
+  /**
+   * Duración de la ejecución hasta su término o, si sigue en curso, hasta ahora.
+   */
+  public static long elapsedMillis(JobExecution jobExecution) {
+    LocalDateTime start = jobExecution.getStartTime();
+    LocalDateTime end = jobExecution.getEndTime() != null ? jobExecution.getEndTime() : LocalDateTime.now();
+    return start == null ? 0 : Duration.between(start, end).toMillis();
+  }
+
+}
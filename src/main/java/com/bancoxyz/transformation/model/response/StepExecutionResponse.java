@@ -0,0 +1,40 @@
+package com.bancoxyz.transformation.model.response;
+
+import org.springframework.batch.core.StepExecution;
+
+import com.bancoxyz.transformation.listener.StepThroughputListener;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class StepExecutionResponse {
+  private String stepName;
+  private String status;
+  private long readCount;
+  private long writeCount;
+  private long skipCount;
+  private long filterCount;
+  private long commitCount;
+  private long elapsedMillis;
+  private double rowsPerSecond;
+
+  public static StepExecutionResponse from(StepExecution stepExecution) {
+    return new StepExecutionResponse(
+      stepExecution.getStepName(),
+      stepExecution.getStatus().name(),
+      stepExecution.getReadCount(),
+      stepExecution.getWriteCount(),
+      stepExecution.getSkipCount(),
+      stepExecution.getFilterCount(),
+      stepExecution.getCommitCount(),
+      StepThroughputListener.elapsedMillis(stepExecution),
+      StepThroughputListener.rowsPerSecond(stepExecution)
+    );
+  }
+
+}
@@ -0,0 +1,105 @@
+package com.bancoxyz.transformation.partition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+/**
+ * Partitioner que divide un archivo CSV en rangos contiguos de líneas.
+ * Cada partición recibe en su ExecutionContext el índice del primer registro
+ * ({@link #START_LINE}, inclusivo) y del último ({@link #END_LINE}, exclusivo),
+ * contados sin las líneas de cabecera. Como cada partición es un StepExecution
+ * propio, su posición de reinicio se guarda y recupera de forma independiente.
+ * En la ingesta incremental solo se reparten las líneas agregadas al archivo.
+ */
+public class LineRangePartitioner implements Partitioner {
+
+  private static final Logger logger = LoggerFactory.getLogger(LineRangePartitioner.class);
+
+  public static final String START_LINE = "startLine";
+  public static final String END_LINE = "endLine";
+
+  private final Resource resource;
+  private final int linesToSkip;
+  private final String startRecordKey;
+
+  public LineRangePartitioner(Resource resource, int linesToSkip) {
+    this(resource, linesToSkip, null);
+  }
+
+  /**
+   * @param startRecordKey clave del ExecutionContext del job con el primer registro a repartir
+   *        (ingesta incremental), o {@code null} para repartir el archivo completo
+   */
+  public LineRangePartitioner(Resource resource, int linesToSkip, String startRecordKey) {
+    this.resource = resource;
+    this.linesToSkip = linesToSkip;
+    this.startRecordKey = startRecordKey;
+  }
+
+  @Override
+  @NonNull
+  public Map<String, ExecutionContext> partition(int gridSize) {
+    int first = firstRecord();
+    int records = Math.max(first, countLines() - linesToSkip);
+    int partitions = Math.max(1, Math.min(gridSize, records - first));
+    int rangeSize = (records - first + partitions - 1) / partitions;
+
+    Map<String, ExecutionContext> result = new HashMap<>();
+    for (int i = 0; i < partitions; i++) {
+      ExecutionContext context = new ExecutionContext();
+      context.putInt(START_LINE, Math.min(first + i * rangeSize, records));
+      context.putInt(END_LINE, Math.min(first + (i + 1) * rangeSize, records));
+      result.put("partition" + i, context);
+    }
+
+    logger.info("Archivo {} dividido en {} particiones de hasta {} registros", resource.getFilename(), partitions, rangeSize);
+    return result;
+  }
+
+  /**
+   * Primer registro a repartir: en la ingesta incremental, el primero de las líneas agregadas
+   * al archivo desde la última ejecución.
+   */
+  private int firstRecord() {
+    StepContext context = StepSynchronizationManager.getContext();
+    Object start = context == null || startRecordKey == null ? null : context.getJobExecutionContext().get(startRecordKey);
+    return start instanceof Long record ? record.intValue() : 0;
+  }
+
+  private int countLines() {
+    byte[] buffer = new byte[64 * 1024];
+    int lines = 0;
+    boolean pendingLine = false;
+
+    try (InputStream in = resource.getInputStream()) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        for (int i = 0; i < read; i++) {
+          if (buffer[i] == '\n') {
+            lines++;
+            pendingLine = false;
+          } else {
+            pendingLine = true;
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new ItemStreamException("No se pudo leer el archivo " + resource.getDescription(), e);
+    }
+
+    return pendingLine ? lines + 1 : lines;
+  }
+
+}
@@ -0,0 +1,116 @@
+package com.bancoxyz.transformation.policy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.config.IngestionProperties;
+import com.bancoxyz.transformation.config.IngestionProperties.ChunkMode;
+
+/**
+ * Tamaño de chunk (intervalo de commit) de un step, resuelto al iniciar cada chunk:
+ * <ol>
+ *   <li>el parámetro de job {@value #CHUNK_SIZE_PARAMETER}, si se envía;</li>
+ *   <li>en modo adaptativo, el tamaño actual, que crece un 50% mientras el chunk completo
+ *       (lectura, escritura y commit) tarda menos que la latencia objetivo y se reduce a la
+ *       mitad cuando la supera, entre 1 y el máximo configurado;</li>
+ *   <li>ingestion.&lt;job&gt;.chunk-size.</li>
+ * </ol>
+ *
+ * Debe registrarse en el step como CompletionPolicy y como ChunkListener, como bean de step
+ * scope: el tamaño adaptativo es de cada ejecución del step (o partición) y empieza siempre en
+ * el configurado, sin heredar el de otros steps, ejecuciones concurrentes o ejecuciones anteriores.
+ */
+public class ChunkSizePolicy extends CompletionPolicySupport implements ChunkListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChunkSizePolicy.class);
+
+  public static final String CHUNK_SIZE_PARAMETER = "chunkSize";
+
+  private static final String START_TIME = ChunkSizePolicy.class.getName() + ".START_TIME";
+
+  private final boolean adaptive;
+  private final int maxChunkSize;
+  private final long targetNanos;
+  private final AtomicInteger chunkSize;
+
+  public ChunkSizePolicy(IngestionProperties.JobSettings settings) {
+    this.adaptive = settings.getChunkMode() == ChunkMode.ADAPTIVE;
+    this.maxChunkSize = settings.getMaxChunkSize();
+    this.targetNanos = settings.getTargetCommitLatency().toNanos();
+    this.chunkSize = new AtomicInteger(settings.getChunkSize());
+  }
+
+  @Override
+  public RepeatContext start(RepeatContext parent) {
+    Integer requested = requestedChunkSize();
+    return new SizedContext(parent, requested != null ? requested : chunkSize.get());
+  }
+
+  @Override
+  public boolean isComplete(RepeatContext context) {
+    SizedContext sized = (SizedContext) context;
+    return sized.getStartedCount() >= sized.size;
+  }
+
+  @Override
+  public void beforeChunk(@NonNull ChunkContext context) {
+    if (adaptive) {
+      context.setAttribute(START_TIME, System.nanoTime());
+    }
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    Object start = context.getAttribute(START_TIME);
+    if (!(start instanceof Long startTime) || requestedChunkSize() != null) {
+      return;
+    }
+
+    long elapsed = System.nanoTime() - startTime;
+    int current = chunkSize.get();
+    int next = elapsed < targetNanos
+      ? Math.min(maxChunkSize, current + Math.max(1, current / 2))
+      : Math.max(1, current / 2);
+
+    if (next != current && chunkSize.compareAndSet(current, next)) {
+      logger.debug("Tamaño de chunk ajustado de {} a {} (último chunk: {} ms)", current, next, elapsed / 1_000_000);
+    }
+  }
+
+  /**
+   * Tamaño de chunk enviado como parámetro del job en ejecución, o {@code null}.
+   */
+  private Integer requestedChunkSize() {
+    StepContext stepContext = StepSynchronizationManager.getContext();
+    if (stepContext == null) {
+      return null;
+    }
+    JobParameter<?> parameter = stepContext.getStepExecution().getJobParameters().getParameter(CHUNK_SIZE_PARAMETER);
+    return parameter == null ? null : Integer.valueOf(parameter.getValue().toString());
+  }
+
+  public int getChunkSize() {
+    return chunkSize.get();
+  }
+
+  private static final class SizedContext extends RepeatContextSupport {
+    private final int size;
+
+    private SizedContext(RepeatContext parent, int size) {
+      super(parent);
+      this.size = size;
+    }
+  }
+
+}
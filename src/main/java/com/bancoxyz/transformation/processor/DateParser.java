@@ -0,0 +1,95 @@
+package com.bancoxyz.transformation.processor;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Interpreta las fechas de los archivos de entrada en una sola pasada, detectando el
+ * formato por la posición de los separadores en vez de probar formatters en secuencia.
+ *
+ * Formatos aceptados (años de 4 dígitos, días y meses de 2 dígitos):
+ * <ul>
+ *   <li>{@code yyyy-MM-dd} y {@code yyyy/MM/dd}</li>
+ *   <li>{@code dd-MM-yyyy}</li>
+ *   <li>{@code dd/MM/yyyy}; si esa lectura no da un mes válido se interpreta como {@code MM/dd/yyyy}
+ *       (por ejemplo 04/13/2024 es 13 de abril, mientras que 03/04/2024 es 3 de abril)</li>
+ * </ul>
+ *
+ * Igual que los DateTimeFormatter anteriores (ResolverStyle.SMART), un día entre 29 y 31 que
+ * no existe en el mes se ajusta al último día del mes: 31/02/2024 se lee como 29/02/2024.
+ */
+public final class DateParser {
+
+  private DateParser() {
+  }
+
+  /**
+   * @return la fecha interpretada, o {@code null} si el texto no corresponde a ningún formato aceptado.
+   */
+  public static LocalDate parse(String value) {
+    if (value == null) {
+      return null;
+    }
+
+    int start = 0;
+    int end = value.length();
+    while (start < end && value.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && value.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (end - start != 10) {
+      return null;
+    }
+
+    char separator = value.charAt(start + 4);
+    if ((separator == '-' || separator == '/') && value.charAt(start + 7) == separator) {
+      return of(digits(value, start, 4), digits(value, start + 5, 2), digits(value, start + 8, 2));
+    }
+
+    separator = value.charAt(start + 2);
+    if (value.charAt(start + 5) != separator) {
+      return null;
+    }
+    int first = digits(value, start, 2);
+    int second = digits(value, start + 3, 2);
+    int year = digits(value, start + 6, 4);
+    if (separator == '-') {
+      return of(year, second, first);
+    }
+    if (separator == '/') {
+      return isMonth(second) ? of(year, second, first) : of(year, first, second);
+    }
+    return null;
+  }
+
+  private static LocalDate of(int year, int month, int day) {
+    if (year < 1 || !isMonth(month) || day < 1 || day > 31) {
+      return null;
+    }
+    int monthLength = Month.of(month).length(Year.isLeap(year));
+    return LocalDate.of(year, month, Math.min(day, monthLength));
+  }
+
+  private static boolean isMonth(int value) {
+    return value >= 1 && value <= 12;
+  }
+
+  /**
+   * Valor de {@code length} dígitos ASCII a partir de {@code offset}, o -1 si alguno no es dígito.
+   */
+  private static int digits(String value, int offset, int length) {
+    int result = 0;
+    for (int i = offset; i < offset + length; i++) {
+      int digit = value.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      result = result * 10 + digit;
+    }
+    return result;
+  }
+
+}
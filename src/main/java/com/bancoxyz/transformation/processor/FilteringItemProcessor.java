@@ -0,0 +1,45 @@
+package com.bancoxyz.transformation.processor;
+
+import java.util.List;
+
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+
+/**
+ * Processor del modo de rechazo FILTER: si el processor del job rechaza un registro con
+ * InvalidDataException, lo entrega a los skip listeners del step y devuelve null, de modo que
+ * Spring Batch lo cuenta como filtrado (filterCount) en lugar de omitido (skipCount).
+ *
+ * En modo SKIP, cada registro rechazado hace que el step tolerante a fallos revierta el chunk
+ * y lo vuelva a procesar; aquí el chunk sigue su curso y los rechazos no cuentan para skip-limit.
+ * Los demás errores se propagan y se omiten igual que en modo SKIP.
+ *
+ * Los skip listeners reciben el rechazo en el momento en que ocurre y no al confirmar el chunk:
+ * si la escritura del chunk falla y este se vuelve a procesar, sus rechazos se notifican otra vez.
+ */
+public class FilteringItemProcessor<I, O> implements ItemProcessor<I, O> {
+
+  private final ItemProcessor<I, O> delegate;
+  private final List<SkipListener<? super I, ?>> skipListeners;
+
+  public FilteringItemProcessor(ItemProcessor<I, O> delegate, List<SkipListener<? super I, ?>> skipListeners) {
+    this.delegate = delegate;
+    this.skipListeners = skipListeners;
+  }
+
+  @Override
+  public O process(@NonNull I item) throws Exception {
+    try {
+      return delegate.process(item);
+    } catch (InvalidDataException e) {
+      for (SkipListener<? super I, ?> listener : skipListeners) {
+        listener.onSkipInProcess(item, e);
+      }
+      return null;
+    }
+  }
+
+}
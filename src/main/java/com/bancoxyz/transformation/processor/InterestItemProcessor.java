@@ -1,44 +1,32 @@
 package com.bancoxyz.transformation.processor;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.lang.NonNull;
 
-import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.exception.RejectionReason;
 import com.bancoxyz.transformation.model.entity.Interest;
 import com.bancoxyz.transformation.model.input.InterestInput;
+import com.bancoxyz.transformation.validation.ValidationRule;
+import com.bancoxyz.transformation.validation.ValidationRules;
 
 public class InterestItemProcessor implements ItemProcessor<InterestInput, Interest>{
 
-  private static final Logger logger = LoggerFactory.getLogger(InterestItemProcessor.class);
+  static final ValidationRules<InterestInput> RULES = ValidationRules.<InterestInput>builder()
+    .notBlank(InterestInput::getNombre, RejectionReason.NOMBRE_DESCONOCIDO, "Debe existir el nombre de cliente")
+    .notIn(InterestInput::getNombre, RejectionReason.NOMBRE_DESCONOCIDO, "Debe existir el nombre de cliente", "Unknown")
+    .notNull(InterestInput::getSaldo, RejectionReason.SALDO_NULO, "Debe existir el saldo")
+    .notBlank(InterestInput::getTipo, RejectionReason.TIPO_INVALIDO, "Debe existir el tipo")
+    .notIn(InterestInput::getTipo, RejectionReason.TIPO_INVALIDO, "Debe existir el tipo", "-1")
+    .positive(InterestInput::getCuenta_id, RejectionReason.CUENTA_INVALIDA, "Debe existir un cuenta_id válido")
+    .positive(InterestInput::getEdad, RejectionReason.EDAD_INVALIDA, "Debe existir una edad válida")
+    .build();
   
   @Override
   public Interest process(@NonNull InterestInput item) throws Exception {
     
-    if(item.getNombre() == null || item.getNombre().equalsIgnoreCase("Unknown") || item.getNombre().trim().isEmpty()) {
-      logger.warn("DATO INVALIDO - Item con nombre de cliente desconocido: {}", item);
-      throw new InvalidDataException("Debe existir el nombre de cliente");
-    }
-
-    if(item.getSaldo() == null) {
-      logger.warn("DATO INVALIDO - Item con saldo nulo: {}", item);
-      throw new InvalidDataException("Debe existir el saldo");
-    }
-
-    if(item.getTipo() == null || item.getTipo().equals("-1") || item.getTipo().trim().isEmpty()) {
-      logger.warn("DATO INVALIDO - Item con tipo inválido: {}", item);
-      throw new InvalidDataException("Debe existir el tipo");
-    }
-
-    if(item.getCuenta_id() <= 0) {
-      logger.warn("DATO INVALIDO - Item con cuenta_id inválido: {}", item);
-      throw new InvalidDataException("Debe existir un cuenta_id válido");
-    }
-
-    if(item.getEdad() <= 0) {
-      logger.warn("DATO INVALIDO - Item con edad inválida: {}", item);
-      throw new InvalidDataException("Debe existir una edad válida");
+    ValidationRule<InterestInput> violated = RULES.check(item);
+    if (violated != null) {
+      throw violated.reject(item);
     }
 
     return new Interest(
@@ -0,0 +1,51 @@
+package com.bancoxyz.transformation.processor;
+
+import java.util.concurrent.Future;
+
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+
+/**
+ * Processor del modo pipelined: entrega cada registro al processor del job en el pool de CPU
+ * (AsyncItemProcessor) y devuelve enseguida un Future con el resultado, así que el hilo del
+ * chunk sigue leyendo mientras los registros anteriores se procesan en paralelo.
+ *
+ * Un rechazo (InvalidDataException) no se lanza: queda en el resultado y lo notifica
+ * PipelinedItemWriter en el hilo del chunk, donde están el contexto del step y los contadores
+ * por hilo de los listeners. Los demás errores se propagan al resolver el Future.
+ */
+public class PipelinedItemProcessor<I, O> implements ItemProcessor<I, Future<PipelinedItemProcessor.Result<I, O>>> {
+
+  /**
+   * Resultado de un registro: el objeto de salida o el rechazo del processor.
+   */
+  public record Result<I, O>(I input, O output, InvalidDataException rejection) {
+
+    public boolean rejected() {
+      return rejection != null;
+    }
+  }
+
+  private final AsyncItemProcessor<I, Result<I, O>> asyncProcessor = new AsyncItemProcessor<>();
+
+  public PipelinedItemProcessor(ItemProcessor<I, O> delegate, TaskExecutor taskExecutor) {
+    asyncProcessor.setDelegate(item -> {
+      try {
+        return new Result<>(item, delegate.process(item), null);
+      } catch (InvalidDataException e) {
+        return new Result<>(item, null, e);
+      }
+    });
+    asyncProcessor.setTaskExecutor(taskExecutor);
+  }
+
+  @Override
+  public Future<Result<I, O>> process(@NonNull I item) throws Exception {
+    return asyncProcessor.process(item);
+  }
+
+}
@@ -1,59 +1,36 @@
 package com.bancoxyz.transformation.processor;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.lang.NonNull;
 
-import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.exception.RejectionReason;
 import com.bancoxyz.transformation.model.entity.Transaction;
 import com.bancoxyz.transformation.model.input.TransactionInput;
+import com.bancoxyz.transformation.validation.ValidationRules;
 
 
 public class TransactionItemProcessor implements ItemProcessor<TransactionInput, Transaction> {
-  
-  private static final Logger logger = LoggerFactory.getLogger(TransactionItemProcessor.class);
 
-  private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-    DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-    DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-    DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-    DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-    DateTimeFormatter.ofPattern("yyyy/MM/dd")
-  );
+  static final ValidationRules.Value<LocalDate> FECHA = new ValidationRules.Value<>(LocalDate.class);
+
+  static final ValidationRules<TransactionInput> RULES = ValidationRules.<TransactionInput>builder()
+    .notNull(TransactionInput::getMonto, RejectionReason.MONTO_NULO, "El monto no puede ser null")
+    .notZero(TransactionInput::getMonto, RejectionReason.MONTO_CERO, "El monto no puede ser 0")
+    .notBlank(TransactionInput::getFecha, RejectionReason.FECHA_VACIA, "La fecha no puede ser null o vacía")
+    .date(TransactionInput::getFecha, FECHA, RejectionReason.FECHA_INVALIDA, item -> "Fecha inválida: " + item.getFecha())
+    .build();
 
   @Override
   public Transaction process(@NonNull TransactionInput item) throws Exception {
     
-    logger.debug("Realizando proceso en hilo: {} - Procesando item ID: {}", Thread.currentThread().getName());
-    
-    if (item.getMonto() == null) {
-      logger.warn("Transacción con monto null encontrada y será omitida: {}", item);
-      throw new InvalidDataException("El monto no puede ser null");
-    }
-    
-    if (item.getMonto() == 0) {
-      logger.warn("Transacción con monto 0 encontrada y será omitida: {}", item);
-      throw new InvalidDataException("El monto no puede ser 0");
-    }
-    
-    // Validar y convertir fecha
-    if (item.getFecha() == null || item.getFecha().trim().isEmpty()) {
-      logger.warn("Transacción con fecha null o vacía encontrada y será omitida: {}", item);
-      throw new InvalidDataException("La fecha no puede ser null o vacía");
-    }
-    
-    LocalDate parsedDate = parseDate(item.getFecha());
-    if (parsedDate == null) {
-      logger.warn("Transacción con fecha inválida encontrada y será omitida: {}", item);
-      throw new InvalidDataException("Fecha inválida: " + item.getFecha());
+    ValidationRules.Result<TransactionInput> result = RULES.validate(item);
+    if (result.getViolated() != null) {
+      throw result.getViolated().reject(item);
     }
+
+    LocalDate parsedDate = result.get(FECHA);
     
     return new Transaction(
       item.getId(),
@@ -63,24 +40,4 @@ public class TransactionItemProcessor implements ItemProcessor<TransactionInput,
     );
   }
   
-  private LocalDate parseDate(String dateString) {
-    if (dateString == null || dateString.trim().isEmpty()) {
-      return null;
-    }
-    
-    String trimmedDate = dateString.trim();
-    
-    for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-      try {
-        LocalDate date = LocalDate.parse(trimmedDate, formatter);
-        logger.debug("Fecha parseada exitosamente: {} -> {}", dateString, date);
-        return date;
-      } catch (DateTimeParseException e) {
-        logger.debug("No se pudo parsear '{}' con formato {}", dateString, formatter);
-      }
-    }
-    
-    logger.warn("No se pudo parsear la fecha: {}", dateString);
-    return null;
-  }
-}
\ No newline at end of file
+}
@@ -1,36 +1,80 @@
 package com.bancoxyz.transformation.reader;
 
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemStream;
 import org.springframework.batch.item.ItemStreamException;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import com.bancoxyz.transformation.config.IngestionProperties;
+import com.bancoxyz.transformation.incremental.InputChangeTasklet;
 import com.bancoxyz.transformation.mapper.AnnualAccountMapper;
+import com.bancoxyz.transformation.mapper.AnnualAccountRecordMapper;
 import com.bancoxyz.transformation.model.input.AnnualAccountInput;
 
 @Component
-public class AnnualAccountItemReader implements ItemReader<AnnualAccountInput>, ItemStream {
+@StepScope
+public class AnnualAccountItemReader implements ItemReader<AnnualAccountInput>, ItemStream, ChunkListener {
   
-  private final FlatFileItemReader<AnnualAccountInput> annualAccountReader;
+  private static final String[] NAMES = {"cuenta_id", "fecha", "transaccion", "monto", "descripcion"};
 
-  public AnnualAccountItemReader() {
-    // Configura el FlatFileItemReader interno
-    this.annualAccountReader = new FlatFileItemReaderBuilder<AnnualAccountInput>()
+  private final ItemStreamReader<AnnualAccountInput> annualAccountReader;
+
+  public AnnualAccountItemReader(
+    IngestionProperties ingestionProperties,
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    @Value("#{jobExecutionContext['annualAccount." + InputChangeTasklet.START_RECORD + "']}") Long startRecord,
+    @Value("#{jobExecutionContext['annualAccount." + InputChangeTasklet.START_BYTE + "']}") Long startByte
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getAnnualAccount();
+    this.annualAccountReader = switch (settings.getReader()) {
+      case MAPPED -> new MappedCsvItemReader<>(
+        "anualAccountItemReader", settings.inputFor(inputFile), 1, NAMES.length, new AnnualAccountRecordMapper(), settings.getReaderBlockSize())
+        .startingAt(startRecord, startByte);
+      case BLOCK -> new ConcurrentBlockItemReader<>(
+        "anualAccountItemReader", settings.inputFor(inputFile), 1, lineMapper(), settings.getReaderBlockSize())
+        .startingAt(startRecord, startByte);
+    };
+  }
+
+  /**
+   * Tokenizador y mapper de una línea del CSV, compartidos por todos los modos de lectura.
+   */
+  public static LineMapper<AnnualAccountInput> lineMapper() {
+    DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+    tokenizer.setNames(NAMES);
+    tokenizer.setStrict(false);
+
+    DefaultLineMapper<AnnualAccountInput> lineMapper = new DefaultLineMapper<>();
+    lineMapper.setLineTokenizer(tokenizer);
+    lineMapper.setFieldSetMapper(new AnnualAccountMapper());
+    return lineMapper;
+  }
+
+  /**
+   * Configuración del FlatFileItemReader de cuentas anuales, compartida con los readers por partición.
+   */
+  public static FlatFileItemReaderBuilder<AnnualAccountInput> builder(Resource resource) {
+    return new FlatFileItemReaderBuilder<AnnualAccountInput>()
       .name("anualAccountItemReader") 
-      .resource(new ClassPathResource("data/cuentas_anuales.csv"))
+      .resource(resource)
       .linesToSkip(1)
       .delimited()
-      .names("cuenta_id", "fecha", "transaccion", "monto", "descripcion") 
+      .names(NAMES)
       .fieldSetMapper(new AnnualAccountMapper())
-      .build();
-    this.annualAccountReader.setStrict(false); 
+      .strict(false);
   }
-
   
   @Override
   public AnnualAccountInput read() throws Exception {
@@ -51,4 +95,29 @@ public class AnnualAccountItemReader implements ItemReader<AnnualAccountInput>,
   public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
     annualAccountReader.update(executionContext);
   }
+
+  /**
+   * Avisa al reader del inicio y del fin de cada chunk, para asociar los registros leídos al chunk.
+   */
+  @Override
+  public void beforeChunk(@NonNull ChunkContext context) {
+    if (annualAccountReader instanceof ChunkListener listener) {
+      listener.beforeChunk(context);
+    }
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    if (annualAccountReader instanceof ChunkListener listener) {
+      listener.afterChunk(context);
+    }
+  }
+
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    if (annualAccountReader instanceof ChunkListener listener) {
+      listener.afterChunkError(context);
+    }
+  }
+
 }
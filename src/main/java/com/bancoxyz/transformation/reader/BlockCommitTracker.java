@@ -0,0 +1,49 @@
+package com.bancoxyz.transformation.reader;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registra los bloques de registros entregados a los hilos del step y cuántos
+ * registros de cada bloque quedan pendientes de confirmar (commit).
+ *
+ * La posición confirmada es el inicio del bloque pendiente más antiguo: todo lo
+ * anterior ya fue escrito en la base de datos, por lo que es un punto de reinicio
+ * seguro aunque los chunks se confirmen en desorden. Al reiniciar se pueden
+ * reprocesar, como máximo, los registros de los bloques que seguían en curso.
+ *
+ * Las posiciones son opacas para esta clase (número de línea o desplazamiento en bytes).
+ */
+class BlockCommitTracker {
+
+  private final TreeMap<Long, Integer> pending = new TreeMap<>();
+  private long handedOut;
+
+  synchronized void reset(long position) {
+    pending.clear();
+    handedOut = position;
+  }
+
+  synchronized void handOut(long start, long end, int records) {
+    pending.put(start, records);
+    handedOut = end;
+  }
+
+  synchronized void commit(long start, int records) {
+    Integer remaining = pending.get(start);
+    if (remaining == null) {
+      return;
+    }
+    if (remaining <= records) {
+      pending.remove(start);
+    } else {
+      pending.put(start, remaining - records);
+    }
+  }
+
+  synchronized long committedPosition() {
+    Map.Entry<Long, Integer> oldest = pending.firstEntry();
+    return oldest == null ? handedOut : oldest.getKey();
+  }
+
+}
@@ -0,0 +1,108 @@
+package com.bancoxyz.transformation.reader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+/**
+ * Registros leídos por cada chunk y aún no confirmados, que los readers concurrentes informan a
+ * su {@link BlockCommitTracker} cuando el chunk se confirma.
+ *
+ * Los registros se guardan en el ChunkContext del chunk, no en el hilo que los leyó: si el chunk
+ * hace rollback, el step tolerante a fallos lo reintenta con los mismos items (sin volver a
+ * leerlos) y con el mismo ChunkContext, que puede tomar otro hilo. Los registros se confirman en
+ * el {@code update()} del commit que completa el chunk; los de un chunk sin completar (rollback o
+ * escritura item por item en curso) siguen pendientes y la posición de reinicio no los pasa.
+ *
+ * El reader se registra solo como ChunkListener del step (Spring Batch lo detecta por la interfaz)
+ * y avisa en {@code beforeChunk}/{@code afterChunk}. Fuera de un step, por ejemplo en las pruebas,
+ * los registros quedan en el hilo que los leyó hasta su {@code update()}.
+ */
+final class ChunkClaims {
+
+  private final String attribute;
+  private final BlockCommitTracker tracker;
+  private final ThreadLocal<ChunkContext> chunk = new ThreadLocal<>();
+  private final ThreadLocal<List<Claim>> unbound = ThreadLocal.withInitial(ArrayList::new);
+
+  /**
+   * @param name    nombre del reader, para distinguir sus registros en el ChunkContext
+   * @param tracker posiciones pendientes del reader
+   */
+  ChunkClaims(String name, BlockCommitTracker tracker) {
+    this.attribute = ChunkClaims.class.getName() + "." + name;
+    this.tracker = tracker;
+  }
+
+  void beforeChunk(ChunkContext context) {
+    chunk.set(context);
+  }
+
+  void afterChunk() {
+    chunk.remove();
+  }
+
+  /**
+   * Descarta los registros sin confirmar del hilo actual fuera de un step (al abrir o cerrar el reader).
+   */
+  void clear() {
+    unbound.remove();
+  }
+
+  /**
+   * Anota un registro leído del bloque que empieza en {@code blockStart}.
+   */
+  void claim(long blockStart) {
+    List<Claim> claims = current();
+    Claim last = claims.isEmpty() ? null : claims.get(claims.size() - 1);
+    if (last != null && last.blockStart == blockStart) {
+      last.records++;
+    } else {
+      claims.add(new Claim(blockStart));
+    }
+  }
+
+  /**
+   * Confirma en el tracker los registros del chunk actual si el chunk quedó completo.
+   */
+  void commit() {
+    ChunkContext context = chunk.get();
+    List<Claim> claims;
+    if (context == null) {
+      claims = unbound.get();
+    } else if (context.isComplete()) {
+      @SuppressWarnings("unchecked")
+      List<Claim> chunkClaims = (List<Claim>) context.removeAttribute(attribute);
+      claims = chunkClaims;
+    } else {
+      return;
+    }
+    if (claims == null) {
+      return;
+    }
+    for (Claim claim : claims) {
+      tracker.commit(claim.blockStart, claim.records);
+    }
+    claims.clear();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Claim> current() {
+    ChunkContext context = chunk.get();
+    if (context == null) {
+      return unbound.get();
+    }
+    return (List<Claim>) context.computeAttribute(attribute, key -> new ArrayList<Claim>());
+  }
+
+  private static final class Claim {
+    private final long blockStart;
+    private int records = 1;
+
+    private Claim(long blockStart) {
+      this.blockStart = blockStart;
+    }
+  }
+
+}
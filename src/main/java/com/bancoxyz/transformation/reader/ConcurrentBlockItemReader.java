@@ -0,0 +1,221 @@
+package com.bancoxyz.transformation.reader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+/**
+ * Reader de archivos CSV seguro para steps multi-hilo.
+ *
+ * Las líneas se cargan del archivo en bloques de {@code blockSize} bajo un lock, y los
+ * hilos toman las líneas del bloque actual con un contador atómico, por lo que el lock
+ * solo se disputa una vez por bloque. La transformación de cada línea en item se hace
+ * fuera del lock.
+ *
+ * La posición de reinicio guardada en el ExecutionContext es la de {@link BlockCommitTracker}:
+ * solo avanza cuando todos los registros anteriores fueron confirmados, por lo que un
+ * reinicio nunca pierde registros (puede repetir, como máximo, los de los bloques que
+ * estaban en curso). Los registros leídos se asocian al chunk que los leyó ({@link ChunkClaims})
+ * y se confirman en el {@link #update(ExecutionContext)} del commit que completa ese chunk.
+ */
+public class ConcurrentBlockItemReader<T> implements ItemStreamReader<T>, ChunkListener {
+
+  private final String name;
+  private final Resource resource;
+  private final int linesToSkip;
+  private final LineMapper<T> lineMapper;
+  private final int blockSize;
+  private long startRecord;
+  private long startByte;
+
+  private final Object lock = new Object();
+  private final BlockCommitTracker tracker = new BlockCommitTracker();
+  private final ChunkClaims claims;
+
+  private BufferedReader reader;
+  private long nextLine;
+  private volatile Block current;
+
+  public ConcurrentBlockItemReader(String name, Resource resource, int linesToSkip, LineMapper<T> lineMapper, int blockSize) {
+    this.name = name;
+    this.resource = resource;
+    this.linesToSkip = linesToSkip;
+    this.lineMapper = lineMapper;
+    this.blockSize = blockSize;
+    this.claims = new ChunkClaims(name, tracker);
+  }
+
+  /**
+   * Posición de inicio de una ejecución sin posición de reinicio en el ExecutionContext: el
+   * registro {@code record} (sin contar la cabecera), que empieza en el byte {@code byteOffset}.
+   * La usa la ingesta incremental para leer solo las líneas agregadas al archivo; con valores
+   * nulos se lee desde el inicio.
+   */
+  public ConcurrentBlockItemReader<T> startingAt(Long record, Long byteOffset) {
+    this.startRecord = record == null ? 0 : record;
+    this.startByte = byteOffset == null ? 0 : byteOffset;
+    return this;
+  }
+
+  @Override
+  public T read() throws Exception {
+    while (true) {
+      Block block = current;
+      if (block == null) {
+        return null;
+      }
+
+      int index = block.cursor.getAndIncrement();
+      if (index < block.lines.length) {
+        claims.claim(block.start);
+        return mapLine(block, index);
+      }
+
+      advance(block);
+    }
+  }
+
+  private T mapLine(Block block, int index) {
+    String line = block.lines[index];
+    int lineNumber = (int) (block.start + index) + linesToSkip + 1;
+    try {
+      return lineMapper.mapLine(line, lineNumber);
+    } catch (Exception e) {
+      throw new FlatFileParseException("Error al interpretar la línea " + lineNumber + " de " + resource.getDescription(), e, line, lineNumber);
+    }
+  }
+
+  /**
+   * Reemplaza el bloque agotado por el siguiente del archivo. Solo el primer hilo que
+   * encuentra agotado el bloque lo reemplaza; los demás reintentan con el nuevo.
+   */
+  private void advance(Block exhausted) throws IOException {
+    synchronized (lock) {
+      if (current == exhausted) {
+        current = loadBlock();
+      }
+    }
+  }
+
+  private Block loadBlock() throws IOException {
+    if (reader == null) {
+      return null;
+    }
+
+    List<String> lines = new ArrayList<>(blockSize);
+    String line;
+    while (lines.size() < blockSize && (line = reader.readLine()) != null) {
+      lines.add(line);
+    }
+    if (lines.isEmpty()) {
+      return null;
+    }
+
+    Block block = new Block(nextLine, lines.toArray(new String[0]));
+    tracker.handOut(nextLine, nextLine + lines.size(), lines.size());
+    nextLine += lines.size();
+    return block;
+  }
+
+  @Override
+  public void open(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    boolean restart = executionContext.containsKey(readCountKey());
+    long restartLine = restart ? executionContext.getLong(readCountKey()) : startRecord;
+
+    synchronized (lock) {
+      claims.clear();
+      try {
+        InputStream input = resource.getInputStream();
+        long linesToRead = linesToSkip + restartLine;
+        if (!restart && startByte > 0) {
+          input.skipNBytes(startByte);
+          linesToRead = 0;
+        }
+        reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        for (long i = 0; i < linesToRead; i++) {
+          if (reader.readLine() == null) {
+            break;
+          }
+        }
+        nextLine = restartLine;
+        tracker.reset(restartLine);
+        current = loadBlock();
+      } catch (IOException e) {
+        throw new ItemStreamException("No se pudo abrir el archivo " + resource.getDescription(), e);
+      }
+    }
+  }
+
+  /**
+   * Confirma los registros del chunk que se está confirmando y guarda la posición
+   * confirmada más baja de todos los chunks.
+   */
+  @Override
+  public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    claims.commit();
+    executionContext.putLong(readCountKey(), tracker.committedPosition());
+  }
+
+  @Override
+  public void close() throws ItemStreamException {
+    synchronized (lock) {
+      claims.clear();
+      current = null;
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          throw new ItemStreamException("No se pudo cerrar el archivo " + resource.getDescription(), e);
+        } finally {
+          reader = null;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void beforeChunk(@NonNull ChunkContext context) {
+    claims.beforeChunk(context);
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    claims.afterChunk();
+  }
+
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    claims.afterChunk();
+  }
+
+  private String readCountKey() {
+    return name + ".read.count";
+  }
+
+  private static final class Block {
+    private final long start;
+    private final String[] lines;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private Block(long start, String[] lines) {
+      this.start = start;
+      this.lines = lines;
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+package com.bancoxyz.transformation.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Vista de un registro CSV sobre el buffer mapeado del archivo.
+ *
+ * Solo guarda los límites de cada campo; los valores numéricos se interpretan
+ * directamente desde los bytes y únicamente los campos de texto crean un String.
+ * Replica la semántica de DelimitedLineTokenizer (strict = false) + DefaultFieldSet:
+ * campos faltantes se leen como vacíos, los textos se devuelven sin espacios laterales
+ * y un número es válido solo si todo el campo lo es, como en Integer.parseInt y Long.parseLong
+ * (decimales, texto al final o valores fuera de rango se leen como inválidos).
+ */
+public class CsvRecord {
+
+  private static final byte DELIMITER = ',';
+  private static final byte QUOTE = '"';
+
+  private final ByteBuffer buffer;
+  private final int[] starts;
+  private final int[] ends;
+  private final int fieldCount;
+
+  CsvRecord(ByteBuffer buffer, int recordStart, int recordEnd, int expectedFields) {
+    this.buffer = buffer;
+    this.starts = new int[expectedFields];
+    this.ends = new int[expectedFields];
+
+    int field = 0;
+    int fieldStart = recordStart;
+    boolean quoted = false;
+    for (int i = recordStart; i < recordEnd && field < expectedFields; i++) {
+      byte b = buffer.get(i);
+      if (b == QUOTE) {
+        quoted = !quoted;
+      } else if (b == DELIMITER && !quoted) {
+        starts[field] = fieldStart;
+        ends[field] = i;
+        field++;
+        fieldStart = i + 1;
+      }
+    }
+    if (field < expectedFields) {
+      starts[field] = fieldStart;
+      ends[field] = recordEnd;
+      field++;
+    }
+    this.fieldCount = field;
+  }
+
+  public boolean isEmpty(int index) {
+    if (index >= fieldCount) {
+      return true;
+    }
+    return trimmedStart(index) >= trimmedEnd(index);
+  }
+
+  /**
+   * Texto del campo sin espacios laterales ni comillas envolventes; "" si falta.
+   */
+  public String readString(int index) {
+    if (index >= fieldCount) {
+      return "";
+    }
+    int start = trimmedStart(index);
+    int end = trimmedEnd(index);
+    if (end - start >= 2 && buffer.get(start) == QUOTE && buffer.get(end - 1) == QUOTE) {
+      byte[] bytes = new byte[end - start - 2];
+      buffer.get(start + 1, bytes);
+      return new String(bytes, StandardCharsets.UTF_8).replace("\"\"", "\"");
+    }
+    byte[] bytes = new byte[end - start];
+    buffer.get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Valor entero del campo, o {@code null} si está vacío, no es un entero (signo opcional y solo
+   * dígitos) o no cabe en un long.
+   */
+  public Long readLongOrNull(int index) {
+    if (index >= fieldCount) {
+      return null;
+    }
+    int i = trimmedStart(index);
+    int end = trimmedEnd(index);
+    boolean negative = i < end && buffer.get(i) == '-';
+    if (negative || i < end && buffer.get(i) == '+') {
+      i++;
+    }
+    if (i == end) {
+      return null;
+    }
+    long value = 0;
+    for (; i < end; i++) {
+      int digit = buffer.get(i) - '0';
+      if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+        return null;
+      }
+      value = value * 10 + digit;
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Valor entero del campo, o {@code null} si no es un entero o no cabe en un int.
+   */
+  public Integer readIntOrNull(int index) {
+    Long value = readLongOrNull(index);
+    return value == null || value != value.intValue() ? null : value.intValue();
+  }
+
+  public int readInt(int index, int defaultValue) {
+    Integer value = readIntOrNull(index);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Valor entero obligatorio del campo.
+   *
+   * @throws NumberFormatException si el campo está vacío o no es numérico
+   */
+  public long readLong(int index) {
+    Long value = readLongOrNull(index);
+    if (value == null) {
+      throw new NumberFormatException("Valor numérico inválido: '" + readString(index) + "'");
+    }
+    return value;
+  }
+
+  /**
+   * Valor entero obligatorio del campo.
+   *
+   * @throws NumberFormatException si el campo está vacío, no es numérico o no cabe en un int
+   */
+  public int readInt(int index) {
+    Integer value = readIntOrNull(index);
+    if (value == null) {
+      throw new NumberFormatException("Valor numérico inválido: '" + readString(index) + "'");
+    }
+    return value;
+  }
+
+  private int trimmedStart(int index) {
+    int start = starts[index];
+    int end = ends[index];
+    while (start < end && isWhitespace(buffer.get(start))) {
+      start++;
+    }
+    return start;
+  }
+
+  private int trimmedEnd(int index) {
+    int start = starts[index];
+    int end = ends[index];
+    while (end > start && isWhitespace(buffer.get(end - 1))) {
+      end--;
+    }
+    return end;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\r';
+  }
+
+}
@@ -1,33 +1,79 @@
 package com.bancoxyz.transformation.reader;
 
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemStream;
 import org.springframework.batch.item.ItemStreamException;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import com.bancoxyz.transformation.config.IngestionProperties;
+import com.bancoxyz.transformation.incremental.InputChangeTasklet;
 import com.bancoxyz.transformation.mapper.InterestMapper;
+import com.bancoxyz.transformation.mapper.InterestRecordMapper;
 import com.bancoxyz.transformation.model.input.InterestInput;
 
 @Component
-public class InterestItemReader implements ItemReader<InterestInput>, ItemStream {
+@StepScope
+public class InterestItemReader implements ItemReader<InterestInput>, ItemStream, ChunkListener {
   
-  private final FlatFileItemReader<InterestInput> interestReader;
+  private static final String[] NAMES = {"cuenta_id", "nombre", "saldo", "edad", "tipo"};
 
-  public InterestItemReader() {
-    this.interestReader = new FlatFileItemReaderBuilder<InterestInput>()
+  private final ItemStreamReader<InterestInput> interestReader;
+
+  public InterestItemReader(
+    IngestionProperties ingestionProperties,
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    @Value("#{jobExecutionContext['interest." + InputChangeTasklet.START_RECORD + "']}") Long startRecord,
+    @Value("#{jobExecutionContext['interest." + InputChangeTasklet.START_BYTE + "']}") Long startByte
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getInterest();
+    this.interestReader = switch (settings.getReader()) {
+      case MAPPED -> new MappedCsvItemReader<>(
+        "interesesItemReader", settings.inputFor(inputFile), 1, NAMES.length, new InterestRecordMapper(), settings.getReaderBlockSize())
+        .startingAt(startRecord, startByte);
+      case BLOCK -> new ConcurrentBlockItemReader<>(
+        "interesesItemReader", settings.inputFor(inputFile), 1, lineMapper(), settings.getReaderBlockSize())
+        .startingAt(startRecord, startByte);
+    };
+  }
+
+  /**
+   * Tokenizador y mapper de una línea del CSV, compartidos por todos los modos de lectura.
+   */
+  public static LineMapper<InterestInput> lineMapper() {
+    DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+    tokenizer.setNames(NAMES);
+    tokenizer.setStrict(false);
+
+    DefaultLineMapper<InterestInput> lineMapper = new DefaultLineMapper<>();
+    lineMapper.setLineTokenizer(tokenizer);
+    lineMapper.setFieldSetMapper(new InterestMapper());
+    return lineMapper;
+  }
+
+  /**
+   * Configuración del FlatFileItemReader de intereses, compartida con los readers por partición.
+   */
+  public static FlatFileItemReaderBuilder<InterestInput> builder(Resource resource) {
+    return new FlatFileItemReaderBuilder<InterestInput>()
       .name("interesesItemReader") 
-      .resource(new ClassPathResource("data/intereses.csv"))
+      .resource(resource)
       .linesToSkip(1)
       .delimited()
-      .names("cuenta_id", "nombre", "saldo", "edad", "tipo") 
+      .names(NAMES)
       .fieldSetMapper(new InterestMapper())
-      .build();
-    this.interestReader.setStrict(false); 
+      .strict(false);
   }
 
   @Override
@@ -50,4 +96,28 @@ public class InterestItemReader implements ItemReader<InterestInput>, ItemStream
     interestReader.update(executionContext);
   }
 
+  /**
+   * Avisa al reader del inicio y del fin de cada chunk, para asociar los registros leídos al chunk.
+   */
+  @Override
+  public void beforeChunk(@NonNull ChunkContext context) {
+    if (interestReader instanceof ChunkListener listener) {
+      listener.beforeChunk(context);
+    }
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    if (interestReader instanceof ChunkListener listener) {
+      listener.afterChunk(context);
+    }
+  }
+
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    if (interestReader instanceof ChunkListener listener) {
+      listener.afterChunkError(context);
+    }
+  }
+
 }
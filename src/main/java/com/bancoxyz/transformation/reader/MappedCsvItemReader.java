@@ -0,0 +1,294 @@
+package com.bancoxyz.transformation.reader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.mapper.CsvRecordMapper;
+
+/**
+ * Reader de archivos CSV que mapea el archivo en memoria (NIO) y transforma cada
+ * registro directamente desde los bytes, sin BufferedReader, String por línea ni FieldSet.
+ *
+ * El archivo se mapea por ventanas de hasta {@link #WINDOW_SIZE} bytes, por lo que admite
+ * archivos de varios GB. Igual que {@link ConcurrentBlockItemReader}, bajo el lock solo se
+ * buscan los saltos de línea de un bloque de registros; los hilos toman los registros con
+ * un contador atómico y los interpretan en paralelo. La posición de reinicio es el
+ * desplazamiento en bytes del primer bloque con registros sin confirmar; los registros
+ * leídos se asocian a su chunk con {@link ChunkClaims}.
+ *
+ * Requiere que el recurso sea un archivo del sistema de archivos (prefijo file:).
+ */
+public class MappedCsvItemReader<T> implements ItemStreamReader<T>, ChunkListener {
+
+  static final int WINDOW_SIZE = 256 * 1024 * 1024;
+
+  private final String name;
+  private final Resource resource;
+  private final int linesToSkip;
+  private final int fieldCount;
+  private final CsvRecordMapper<T> recordMapper;
+  private final int blockSize;
+  private long startRecord;
+  private long startByte;
+
+  private final Object lock = new Object();
+  private final BlockCommitTracker tracker = new BlockCommitTracker();
+  private final ChunkClaims claims;
+
+  private FileChannel channel;
+  private long fileSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long position;
+  private volatile Block current;
+
+  public MappedCsvItemReader(String name, Resource resource, int linesToSkip, int fieldCount,
+      CsvRecordMapper<T> recordMapper, int blockSize) {
+    this.name = name;
+    this.resource = resource;
+    this.linesToSkip = linesToSkip;
+    this.fieldCount = fieldCount;
+    this.recordMapper = recordMapper;
+    this.blockSize = blockSize;
+    this.claims = new ChunkClaims(name, tracker);
+  }
+
+  /**
+   * Posición de inicio de una ejecución sin posición de reinicio en el ExecutionContext: el
+   * registro {@code record} (sin contar la cabecera), que empieza en el byte {@code byteOffset}.
+   * La usa la ingesta incremental para leer solo las líneas agregadas al archivo; con valores
+   * nulos se lee desde el inicio.
+   */
+  public MappedCsvItemReader<T> startingAt(Long record, Long byteOffset) {
+    this.startRecord = record == null ? 0 : record;
+    this.startByte = byteOffset == null ? 0 : byteOffset;
+    return this;
+  }
+
+  @Override
+  public T read() throws Exception {
+    while (true) {
+      Block block = current;
+      if (block == null) {
+        return null;
+      }
+
+      int index = block.cursor.getAndIncrement();
+      if (index < block.records) {
+        claims.claim(block.bufferStart + block.recordStarts[0]);
+        return mapRecord(block, index);
+      }
+
+      advance(block);
+    }
+  }
+
+  private T mapRecord(Block block, int index) {
+    int start = block.recordStarts[index];
+    int end = block.recordStarts[index + 1] - 1;
+    try {
+      return recordMapper.mapRecord(new CsvRecord(block.buffer, start, end, fieldCount));
+    } catch (Exception e) {
+      long offset = block.bufferStart + start;
+      throw new FlatFileParseException("Error al interpretar el registro en el byte " + offset + " de " + resource.getDescription(),
+        e, recordText(block.buffer, start, end), (int) (block.firstLine + index) + linesToSkip + 1);
+    }
+  }
+
+  /**
+   * Texto del registro, sin el salto de línea, para los skip listeners y el CSV de errores.
+   */
+  private static String recordText(MappedByteBuffer buffer, int start, int end) {
+    int length = Math.min(end, buffer.limit()) - start;
+    if (length > 0 && buffer.get(start + length - 1) == '\r') {
+      length--;
+    }
+    byte[] bytes = new byte[Math.max(length, 0)];
+    buffer.get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private void advance(Block exhausted) throws IOException {
+    synchronized (lock) {
+      if (current == exhausted) {
+        current = loadBlock(exhausted.firstLine + exhausted.records);
+      }
+    }
+  }
+
+  /**
+   * Busca los límites de hasta {@code blockSize} registros a partir de {@link #position}.
+   * Si un registro cruza el final de la ventana, el bloque se corta ahí y la ventana se
+   * vuelve a mapear desde el inicio de ese registro.
+   */
+  private Block loadBlock(long firstLine) throws IOException {
+    if (channel == null || position >= fileSize) {
+      return null;
+    }
+    if (window == null || position >= windowStart + window.limit()) {
+      map(position);
+    }
+
+    int[] starts = new int[blockSize + 1];
+    int records = 0;
+    int i = (int) (position - windowStart);
+    int limit = window.limit();
+    boolean lastWindow = windowStart + limit >= fileSize;
+    starts[0] = i;
+
+    while (records < blockSize && i < limit) {
+      int newline = indexOfNewline(i, limit);
+      if (newline >= 0) {
+        i = newline + 1;
+      } else if (lastWindow) {
+        i = limit + 1;
+      } else if (records == 0 && windowStart < position) {
+        map(position);
+        return loadBlock(firstLine);
+      } else if (records == 0) {
+        throw new ItemStreamException("Registro mayor que la ventana de mapeo en el byte " + position);
+      } else {
+        break;
+      }
+      starts[++records] = i;
+    }
+
+    if (records == 0) {
+      return null;
+    }
+
+    long blockStart = position;
+    position = Math.min(windowStart + starts[records], fileSize);
+    tracker.handOut(blockStart, position, records);
+    return new Block(window, windowStart, starts, records, firstLine);
+  }
+
+  private int indexOfNewline(int from, int limit) {
+    for (int i = from; i < limit; i++) {
+      if (window.get(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void map(long offset) throws IOException {
+    long size = Math.min(WINDOW_SIZE, fileSize - offset);
+    window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+    windowStart = offset;
+  }
+
+  @Override
+  public void open(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    synchronized (lock) {
+      claims.clear();
+      try {
+        Path path = resource.getFile().toPath();
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        window = null;
+        position = 0;
+
+        long firstLine = 0;
+        if (executionContext.containsKey(offsetKey())) {
+          position = executionContext.getLong(offsetKey());
+        } else if (startByte > 0) {
+          position = startByte;
+          firstLine = startRecord;
+        } else {
+          skipLines(linesToSkip);
+        }
+        tracker.reset(position);
+        current = loadBlock(firstLine);
+      } catch (IOException e) {
+        throw new ItemStreamException("No se pudo mapear el archivo " + resource.getDescription()
+          + " (el modo mapped requiere un recurso file:)", e);
+      }
+    }
+  }
+
+  private void skipLines(int lines) throws IOException {
+    for (int skipped = 0; skipped < lines && position < fileSize; skipped++) {
+      if (window == null || position >= windowStart + window.limit()) {
+        map(position);
+      }
+      int newline = indexOfNewline((int) (position - windowStart), window.limit());
+      position = newline >= 0 ? windowStart + newline + 1 : windowStart + window.limit();
+    }
+  }
+
+  @Override
+  public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    claims.commit();
+    executionContext.putLong(offsetKey(), tracker.committedPosition());
+  }
+
+  @Override
+  public void close() throws ItemStreamException {
+    synchronized (lock) {
+      claims.clear();
+      current = null;
+      window = null;
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          throw new ItemStreamException("No se pudo cerrar el archivo " + resource.getDescription(), e);
+        } finally {
+          channel = null;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void beforeChunk(@NonNull ChunkContext context) {
+    claims.beforeChunk(context);
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    claims.afterChunk();
+  }
+
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    claims.afterChunk();
+  }
+
+  private String offsetKey() {
+    return name + ".byte.offset";
+  }
+
+  private static final class Block {
+    private final MappedByteBuffer buffer;
+    private final long bufferStart;
+    private final int[] recordStarts;
+    private final int records;
+    private final long firstLine;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private Block(MappedByteBuffer buffer, long bufferStart, int[] recordStarts, int records, long firstLine) {
+      this.buffer = buffer;
+      this.bufferStart = bufferStart;
+      this.recordStarts = recordStarts;
+      this.records = records;
+      this.firstLine = firstLine;
+    }
+  }
+
+}
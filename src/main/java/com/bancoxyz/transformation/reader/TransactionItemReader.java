@@ -1,34 +1,80 @@
 package com.bancoxyz.transformation.reader;
 
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemStream;
 import org.springframework.batch.item.ItemStreamException;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import com.bancoxyz.transformation.config.IngestionProperties;
+import com.bancoxyz.transformation.incremental.InputChangeTasklet;
 import com.bancoxyz.transformation.mapper.TransactionMapper;
+import com.bancoxyz.transformation.mapper.TransactionRecordMapper;
 
 import com.bancoxyz.transformation.model.input.TransactionInput;
 
 @Component
-public class TransactionItemReader  implements ItemReader<TransactionInput>, ItemStream {
+@StepScope
+public class TransactionItemReader  implements ItemReader<TransactionInput>, ItemStream, ChunkListener {
 
-  private final FlatFileItemReader<TransactionInput> transactionReader;
+  private static final String[] NAMES = {"id", "fecha", "monto", "tipo"};
 
-  public TransactionItemReader() {
-    this.transactionReader = new FlatFileItemReaderBuilder<TransactionInput>()
+  private final ItemStreamReader<TransactionInput> transactionReader;
+
+  public TransactionItemReader(
+    IngestionProperties ingestionProperties,
+    @Value("#{jobParameters['" + IngestionProperties.INPUT_FILE_PARAMETER + "']}") String inputFile,
+    @Value("#{jobExecutionContext['transaction." + InputChangeTasklet.START_RECORD + "']}") Long startRecord,
+    @Value("#{jobExecutionContext['transaction." + InputChangeTasklet.START_BYTE + "']}") Long startByte
+  ) {
+    IngestionProperties.JobSettings settings = ingestionProperties.getTransaction();
+    this.transactionReader = switch (settings.getReader()) {
+      case MAPPED -> new MappedCsvItemReader<>(
+        "transaccionesItemReader", settings.inputFor(inputFile), 1, NAMES.length, new TransactionRecordMapper(), settings.getReaderBlockSize())
+        .startingAt(startRecord, startByte);
+      case BLOCK -> new ConcurrentBlockItemReader<>(
+        "transaccionesItemReader", settings.inputFor(inputFile), 1, lineMapper(), settings.getReaderBlockSize())
+        .startingAt(startRecord, startByte);
+    };
+  }
+
+  /**
+   * Tokenizador y mapper de una línea del CSV, compartidos por todos los modos de lectura.
+   */
+  public static LineMapper<TransactionInput> lineMapper() {
+    DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+    tokenizer.setNames(NAMES);
+    tokenizer.setStrict(false);
+
+    DefaultLineMapper<TransactionInput> lineMapper = new DefaultLineMapper<>();
+    lineMapper.setLineTokenizer(tokenizer);
+    lineMapper.setFieldSetMapper(new TransactionMapper());
+    return lineMapper;
+  }
+
+  /**
+   * Configuración del FlatFileItemReader de transacciones, compartida con los readers por partición.
+   */
+  public static FlatFileItemReaderBuilder<TransactionInput> builder(Resource resource) {
+    return new FlatFileItemReaderBuilder<TransactionInput>()
       .name("transaccionesItemReader") 
-      .resource(new ClassPathResource("data/transacciones.csv"))
+      .resource(resource)
       .linesToSkip(1) 
       .delimited() 
-      .names("id", "fecha", "monto", "tipo") 
+      .names(NAMES)
       .fieldSetMapper(new TransactionMapper())
-      .build();
-    this.transactionReader.setStrict(false);
+      .strict(false);
   }
 
   @Override
@@ -51,4 +97,28 @@ public class TransactionItemReader  implements ItemReader<TransactionInput>, Ite
     transactionReader.update(executionContext);
   }
 
+  /**
+   * Avisa al reader del inicio y del fin de cada chunk, para asociar los registros leídos al chunk.
+   */
+  @Override
+  public void beforeChunk(@NonNull ChunkContext context) {
+    if (transactionReader instanceof ChunkListener listener) {
+      listener.beforeChunk(context);
+    }
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    if (transactionReader instanceof ChunkListener listener) {
+      listener.afterChunk(context);
+    }
+  }
+
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    if (transactionReader instanceof ChunkListener listener) {
+      listener.afterChunkError(context);
+    }
+  }
+
 }
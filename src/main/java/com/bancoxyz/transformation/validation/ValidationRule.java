@@ -0,0 +1,83 @@
+package com.bancoxyz.transformation.validation;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.exception.RejectionReason;
+
+/**
+ * Una regla de un {@link ValidationRules}: la condición que debe cumplir el registro y el
+ * motivo y mensaje con que se rechaza si no la cumple. El mensaje solo se construye si alguien
+ * lo lee.
+ *
+ * Una regla de conversión ({@link ValidationRules.Builder#parse}) interpreta un campo de texto en
+ * lugar de evaluar una condición: se cumple si el texto es nulo o se pudo interpretar, y deja el
+ * valor en la posición {@code slot} del resultado de la validación.
+ */
+public final class ValidationRule<T> {
+
+  private final Predicate<? super T> condition;
+  private final Function<? super T, String> field;
+  private final Function<String, ?> parser;
+  private final int slot;
+  private final RejectionReason reason;
+  private final Function<? super T, String> message;
+
+  ValidationRule(Predicate<? super T> condition, RejectionReason reason, Function<? super T, String> message) {
+    this(condition, null, null, -1, reason, message);
+  }
+
+  ValidationRule(Function<? super T, String> field, Function<String, ?> parser, int slot, RejectionReason reason,
+      Function<? super T, String> message) {
+    this(null, field, parser, slot, reason, message);
+  }
+
+  private ValidationRule(Predicate<? super T> condition, Function<? super T, String> field, Function<String, ?> parser,
+      int slot, RejectionReason reason, Function<? super T, String> message) {
+    this.condition = condition;
+    this.field = field;
+    this.parser = parser;
+    this.slot = slot;
+    this.reason = reason;
+    this.message = message;
+  }
+
+  /**
+   * @param values valores interpretados por las reglas de conversión, o {@code null} si no se guardan
+   */
+  boolean test(T item, Object[] values) {
+    if (parser == null) {
+      return condition.test(item);
+    }
+    String text = field.apply(item);
+    if (text == null) {
+      return true;
+    }
+    Object value = parser.apply(text);
+    if (value == null) {
+      return false;
+    }
+    if (values != null) {
+      values[slot] = value;
+    }
+    return true;
+  }
+
+  public RejectionReason getReason() {
+    return reason;
+  }
+
+  public String message(T item) {
+    return message.apply(item);
+  }
+
+  /**
+   * Rechazo de {@code item} por esta regla. La excepción no captura la pila y el mensaje se arma
+   * recién cuando se lee (archivo de errores, log de muestra), no por cada registro rechazado.
+   */
+  public InvalidDataException reject(T item) {
+    return new InvalidDataException(reason, () -> message.apply(item));
+  }
+
+}
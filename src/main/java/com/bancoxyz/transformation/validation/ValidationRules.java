@@ -0,0 +1,227 @@
+package com.bancoxyz.transformation.validation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.bancoxyz.transformation.exception.RejectionReason;
+import com.bancoxyz.transformation.processor.DateParser;
+
+/**
+ * Conjunto de reglas de validación de un tipo de input, declarado una sola vez con
+ * {@link #builder()} y evaluado en orden sobre cada registro.
+ *
+ * {@link #check(Object)} devuelve la primera regla que el registro no cumple, o {@code null}
+ * si es válido. Las reglas se crean al construir el conjunto, por lo que validar un registro
+ * no crea objetos ni excepciones; el processor decide qué hacer con el rechazo.
+ *
+ * Las reglas de conversión ({@link Builder#date}, {@link Builder#parse}) validan un campo
+ * interpretándolo. Con {@link #validate(Object)} el valor interpretado queda en el resultado,
+ * bajo la clave {@link Value} de la regla, para que el processor no lo vuelva a interpretar.
+ *
+ * <pre>
+ * ValidationRules.&lt;TransactionInput&gt;builder()
+ *   .notNull(TransactionInput::getMonto, RejectionReason.MONTO_NULO, "El monto no puede ser null")
+ *   .notZero(TransactionInput::getMonto, RejectionReason.MONTO_CERO, "El monto no puede ser 0")
+ *   .build();
+ * </pre>
+ */
+public final class ValidationRules<T> {
+
+  private final ValidationRule<T>[] rules;
+  private final Map<Value<?>, Integer> slots;
+
+  private ValidationRules(ValidationRule<T>[] rules, Map<Value<?>, Integer> slots) {
+    this.rules = rules;
+    this.slots = slots;
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * @return la primera regla que {@code item} no cumple, o {@code null} si las cumple todas
+   */
+  public ValidationRule<T> check(T item) {
+    return check(item, null);
+  }
+
+  /**
+   * Valida {@code item} y guarda los valores que interpretan las reglas de conversión.
+   */
+  public Result<T> validate(T item) {
+    Object[] values = new Object[slots.size()];
+    return new Result<>(check(item, values), values, slots);
+  }
+
+  private ValidationRule<T> check(T item, Object[] values) {
+    for (ValidationRule<T> rule : rules) {
+      if (!rule.test(item, values)) {
+        return rule;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Clave del valor que interpreta una regla de conversión, declarada junto al conjunto de reglas.
+   */
+  public static final class Value<V> {
+
+    private final Class<V> type;
+
+    public Value(Class<V> type) {
+      this.type = type;
+    }
+  }
+
+  /**
+   * Resultado de {@link #validate(Object)}: la regla incumplida y los valores interpretados.
+   */
+  public static final class Result<T> {
+
+    private final ValidationRule<T> violated;
+    private final Object[] values;
+    private final Map<Value<?>, Integer> slots;
+
+    private Result(ValidationRule<T> violated, Object[] values, Map<Value<?>, Integer> slots) {
+      this.violated = violated;
+      this.values = values;
+      this.slots = slots;
+    }
+
+    /**
+     * @return la primera regla que el registro no cumple, o {@code null} si las cumple todas
+     */
+    public ValidationRule<T> getViolated() {
+      return violated;
+    }
+
+    /**
+     * @return el valor interpretado por la regla de {@code key}, o {@code null} si el campo era
+     *         nulo o la validación se detuvo antes de esa regla
+     */
+    public <V> V get(Value<V> key) {
+      Integer slot = slots.get(key);
+      if (slot == null) {
+        throw new IllegalArgumentException("La clave no corresponde a ninguna regla del conjunto");
+      }
+      return key.type.cast(values[slot]);
+    }
+  }
+
+  public static final class Builder<T> {
+
+    private final List<ValidationRule<T>> rules = new ArrayList<>();
+    private final Map<Value<?>, Integer> slots = new IdentityHashMap<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Regla general: el registro es válido si cumple {@code condition}.
+     */
+    public Builder<T> rule(Predicate<? super T> condition, RejectionReason reason, String message) {
+      return rule(condition, reason, item -> message);
+    }
+
+    public Builder<T> rule(Predicate<? super T> condition, RejectionReason reason, Function<? super T, String> message) {
+      rules.add(new ValidationRule<>(condition, reason, message));
+      return this;
+    }
+
+    public Builder<T> notNull(Function<? super T, ?> field, RejectionReason reason, String message) {
+      return rule(item -> field.apply(item) != null, reason, message);
+    }
+
+    /**
+     * Texto no nulo y con algún carácter además de espacios.
+     */
+    public Builder<T> notBlank(Function<? super T, String> field, RejectionReason reason, String message) {
+      return rule(item -> {
+        String value = field.apply(item);
+        return value != null && !value.trim().isEmpty();
+      }, reason, message);
+    }
+
+    /**
+     * Número distinto de 0; un valor nulo cumple la regla (se valida con {@link #notNull}).
+     */
+    public Builder<T> notZero(Function<? super T, Integer> field, RejectionReason reason, String message) {
+      return rule(item -> {
+        Integer value = field.apply(item);
+        return value == null || value != 0;
+      }, reason, message);
+    }
+
+    /**
+     * Número no nulo dentro de [min, max].
+     */
+    public Builder<T> range(Function<? super T, Integer> field, int min, int max, RejectionReason reason, String message) {
+      return rule(item -> {
+        Integer value = field.apply(item);
+        return value != null && value >= min && value <= max;
+      }, reason, message);
+    }
+
+    /**
+     * Número no nulo mayor que 0.
+     */
+    public Builder<T> positive(Function<? super T, Integer> field, RejectionReason reason, String message) {
+      return range(field, 1, Integer.MAX_VALUE, reason, message);
+    }
+
+    /**
+     * Texto distinto de todos los {@code excluded}, sin distinguir mayúsculas; un valor nulo cumple la regla.
+     */
+    public Builder<T> notIn(Function<? super T, String> field, RejectionReason reason, String message, String... excluded) {
+      String[] values = excluded.clone();
+      return rule(item -> {
+        String value = field.apply(item);
+        if (value == null) {
+          return true;
+        }
+        for (String candidate : values) {
+          if (candidate.equalsIgnoreCase(value)) {
+            return false;
+          }
+        }
+        return true;
+      }, reason, message);
+    }
+
+    /**
+     * Fecha en alguno de los formatos aceptados por {@link DateParser}; un valor nulo cumple la regla.
+     */
+    public Builder<T> date(Function<? super T, String> field, Value<LocalDate> value, RejectionReason reason,
+        Function<? super T, String> message) {
+      return parse(field, DateParser::parse, value, reason, message);
+    }
+
+    /**
+     * Regla de conversión: el registro es válido si el campo es nulo o {@code parser} lo interpreta
+     * (devuelve un valor distinto de {@code null}); el valor queda bajo la clave {@code value}.
+     */
+    public <V> Builder<T> parse(Function<? super T, String> field, Function<String, ? extends V> parser, Value<V> value,
+        RejectionReason reason, Function<? super T, String> message) {
+      if (slots.containsKey(value)) {
+        throw new IllegalArgumentException("La clave ya corresponde a otra regla del conjunto");
+      }
+      int slot = slots.size();
+      slots.put(value, slot);
+      rules.add(new ValidationRule<>(field, parser, slot, reason, message));
+      return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public ValidationRules<T> build() {
+      return new ValidationRules<>(rules.toArray(ValidationRule[]::new), new IdentityHashMap<>(slots));
+    }
+  }
+
+}
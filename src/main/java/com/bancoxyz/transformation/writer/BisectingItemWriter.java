@@ -0,0 +1,139 @@
+package com.bancoxyz.transformation.writer;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aísla los registros que hacen fallar la escritura de un chunk sin que el step revierta
+ * el chunk y lo vuelva a escribir registro por registro, cada uno en su propia transacción
+ * (el scan de Spring Batch).
+ *
+ * Cada escritura se hace dentro de un savepoint JDBC de la transacción del chunk. Si falla por
+ * los datos de algún registro (DataIntegrityViolationException: clave duplicada, columna nula,
+ * valor demasiado largo), se vuelve al savepoint y se escribe cada mitad por separado hasta dar
+ * con los registros culpables: con k registros inválidos en un chunk de n son del orden de
+ * k·log2(n) escrituras en lugar de n. Los culpables se quitan del chunk como omitidos, de modo
+ * que Spring Batch los entrega a los skip listeners (onSkipInWrite) y no los cuenta como escritos.
+ * Spring Batch no cuenta esas omisiones, así que el writer las suma al writeSkipCount del step
+ * cuando el chunk se confirma, y las cuenta para skip-limit: si con ellas las omisiones del step
+ * superarían el límite, o si fallan todos los registros del chunk, el error se propaga y el step
+ * lo trata como antes (escritura registro por registro y SkipLimitExceededException al pasar el
+ * límite).
+ *
+ * Los demás errores se propagan sin dividir el chunk: los transitorios (bloqueos, timeouts,
+ * conexiones perdidas) para que el step reintente el chunk completo, y el resto porque no
+ * dependen de un registro.
+ *
+ * Debe ejecutarse dentro de la transacción del chunk y el delegado debe escribir por JDBC en el
+ * mismo DataSource: tras un error, JPA deja la transacción marcada para rollback. Los savepoints
+ * se crean sobre la conexión directamente porque JpaTransactionManager no los admite con Hibernate.
+ */
+public class BisectingItemWriter<T> implements ItemWriter<T> {
+
+  private final ItemWriter<T> delegate;
+  private final DataSource dataSource;
+  private final long skipLimit;
+
+  /**
+   * @param skipLimit skip-limit del step, que también limita los registros aislados por este writer
+   */
+  public BisectingItemWriter(ItemWriter<T> delegate, DataSource dataSource, long skipLimit) {
+    this.delegate = delegate;
+    this.dataSource = dataSource;
+    this.skipLimit = skipLimit;
+  }
+
+  @Override
+  public void write(@NonNull Chunk<? extends T> chunk) throws Exception {
+    Map<T, Exception> rejected = new IdentityHashMap<>();
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      write(connection, chunk.getItems(), rejected);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+    if (rejected.isEmpty()) {
+      return;
+    }
+    if (rejected.size() == chunk.size() || exceedsSkipLimit(rejected.size())) {
+      // Si fallan todos, el error no es de registros puntuales; si se pasa del límite, el step
+      // debe fallar. En ambos casos se deja al step (scan y skip-limit)
+      throw rejected.values().iterator().next();
+    }
+    removeRejected(chunk, rejected);
+    countAfterCommit(rejected.size());
+  }
+
+  private boolean exceedsSkipLimit(int rejected) {
+    StepContext context = StepSynchronizationManager.getContext();
+    long skipped = context == null ? 0 : context.getStepExecution().getSkipCount();
+    return skipped + rejected > skipLimit;
+  }
+
+  /**
+   * Suma los registros omitidos al writeSkipCount del step cuando se confirma el chunk. En
+   * afterCommit el hilo del chunk todavía tiene el lock con que TaskletStep sincroniza los
+   * cambios de la StepExecution entre chunks concurrentes.
+   */
+  private static void countAfterCommit(int rejected) {
+    StepContext context = StepSynchronizationManager.getContext();
+    if (context == null) {
+      return;
+    }
+    StepExecution stepExecution = context.getStepExecution();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + rejected);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + rejected);
+      }
+    });
+  }
+
+  private void write(Connection connection, List<? extends T> items, Map<T, Exception> rejected) throws Exception {
+    Savepoint savepoint = connection.setSavepoint();
+    try {
+      delegate.write(new Chunk<>(items));
+      connection.releaseSavepoint(savepoint);
+    } catch (DataIntegrityViolationException e) {
+      connection.rollback(savepoint);
+      if (items.size() == 1) {
+        rejected.put(items.get(0), e);
+        return;
+      }
+      int middle = items.size() / 2;
+      write(connection, items.subList(0, middle), rejected);
+      write(connection, items.subList(middle, items.size()), rejected);
+    }
+  }
+
+  private static <T, S extends T> void removeRejected(Chunk<S> chunk, Map<T, Exception> rejected) {
+    Chunk<S>.ChunkIterator iterator = chunk.iterator();
+    while (iterator.hasNext()) {
+      Exception e = rejected.get(iterator.next());
+      if (e != null) {
+        iterator.remove(e);
+      }
+    }
+  }
+
+}
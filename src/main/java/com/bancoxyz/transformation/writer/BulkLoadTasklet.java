@@ -0,0 +1,292 @@
+package com.bancoxyz.transformation.writer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Último step del modo bulk (ingestion.&lt;job&gt;.writer=bulk): carga en una tabla temporal los
+ * archivos de staging que escribió {@link StagingFileItemWriter} y los pasa a la tabla destino
+ * con una sola sentencia.
+ *
+ * En MySQL cada archivo se carga con {@code LOAD DATA LOCAL INFILE}, que el servidor procesa
+ * como una única inserción sin el costo por sentencia ni el parseo de los INSERT en batch; en H2
+ * (pruebas) con {@code CSVREAD}. Luego:
+ * <ul>
+ *   <li>Transacciones: las filas se insertan en tbl_transactions reemplazando las de igual id, igual
+ *       que el merge del writer JPA.</li>
+ *   <li>Cuentas anuales: se reserva en tbl_id_generators un bloque con tantos ids como filas, con
+ *       la misma semántica pooled-lo que el generador de Hibernate, y se insertan numeradas desde
+ *       el inicio del bloque.</li>
+ * </ul>
+ * La carga y el paso a la tabla destino ocurren en la transacción del step: si falla, la tabla
+ * destino queda sin cambios y un reinicio vuelve a cargar los mismos archivos, que se borran solo
+ * tras el commit. Los archivos se toman del ExecutionContext de la última ejecución de cada step
+ * de la instancia del job, así que incluyen las particiones que terminaron antes de un reinicio.
+ */
+public class BulkLoadTasklet implements Tasklet {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkLoadTasklet.class);
+
+  /**
+   * Tabla destino de la carga: columnas de los archivos de staging, en el orden en que las escribe
+   * el writer, y generador de ids en tbl_id_generators si la tabla no los trae en el archivo.
+   */
+  public enum Target {
+    TRANSACTIONS("tbl_transactions",
+      "id BIGINT, transaction_date DATE, amount INT, type VARCHAR(255)",
+      "id, transaction_date, amount, type", null),
+    ANNUAL_ACCOUNTS("tbl_annual_accounts",
+      "account_id INT, date DATE, transaction_type VARCHAR(255), amount INT, transaction_description VARCHAR(255)",
+      "account_id, date, transaction_type, amount, transaction_description", "annual_account");
+
+    private final String table;
+    private final String columnDefinitions;
+    private final String columns;
+    private final String idGenerator;
+
+    Target(String table, String columnDefinitions, String columns, String idGenerator) {
+      this.table = table;
+      this.columnDefinitions = columnDefinitions;
+      this.columns = columns;
+      this.idGenerator = idGenerator;
+    }
+
+    private String stagingTable() {
+      return "tmp_" + table.substring("tbl_".length()) + "_staging";
+    }
+  }
+
+  private final JobExplorer jobExplorer;
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate idTransaction;
+  private final String feed;
+  private final Target target;
+
+  /**
+   * @param feed archivo de entrada (transaction, annualAccount), el mismo que recibe el {@link StagingFileItemWriter}
+   */
+  public BulkLoadTasklet(JobExplorer jobExplorer, DataSource dataSource, PlatformTransactionManager transactionManager,
+      String feed, Target target) {
+    this.jobExplorer = jobExplorer;
+    this.dataSource = dataSource;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.idTransaction = new TransactionTemplate(transactionManager);
+    this.idTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.feed = feed;
+    this.target = target;
+  }
+
+  @Override
+  public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+    JobExecution jobExecution = chunkContext.getStepContext().getStepExecution().getJobExecution();
+    List<Path> files = stagingFiles(jobExecution);
+    Dialect dialect = dialect();
+    String staging = target.stagingTable();
+
+    long start = System.nanoTime();
+    // La tabla temporal es de la conexión: todas las sentencias van en la transacción del step
+    jdbcTemplate.execute(dialect.dropSql(staging));
+    jdbcTemplate.execute(dialect.createSql(staging, target));
+    for (Path file : files) {
+      if (Files.exists(file)) {
+        jdbcTemplate.execute(dialect.loadSql(file, staging, target));
+      } else {
+        logger.warn("El archivo de staging {} no existe: se omite", file);
+      }
+    }
+
+    long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + staging, Long.class);
+    long merged = rows == 0 ? 0 : target.idGenerator == null
+      ? jdbcTemplate.update(dialect.upsertSql(staging, target))
+      : jdbcTemplate.update(insertWithIdsSql(staging, reserveIds(rows)));
+    if (dialect.dropAfterLoad) {
+      jdbcTemplate.execute(dialect.dropSql(staging));
+    }
+
+    deleteAfterCommit(files);
+    logger.info("Carga masiva de {}: {} registros de {} archivos de staging en {} ms ({} filas afectadas)",
+      target.table, rows, files.size(), (System.nanoTime() - start) / 1_000_000, merged);
+    return RepeatStatus.FINISHED;
+  }
+
+  /**
+   * Archivos de staging del feed: el de la última ejecución de cada step de la instancia del job que escribió uno.
+   */
+  private List<Path> stagingFiles(JobExecution jobExecution) {
+    List<JobExecution> executions = new ArrayList<>(jobExplorer.getJobExecutions(jobExecution.getJobInstance()));
+    executions.sort(Comparator.comparing(JobExecution::getId).reversed());
+    Map<String, Path> files = new LinkedHashMap<>();
+    String key = StagingFileItemWriter.fileKey(feed);
+    for (JobExecution execution : executions) {
+      for (StepExecution stepExecution : execution.getStepExecutions()) {
+        if (stepExecution.getExecutionContext().containsKey(key)) {
+          files.putIfAbsent(stepExecution.getStepName(), Path.of(stepExecution.getExecutionContext().getString(key)));
+        }
+      }
+    }
+    return List.copyOf(files.values());
+  }
+
+  /**
+   * Reserva {@code count} ids del generador de la tabla en una transacción propia, como lo hace
+   * Hibernate, para no retener el bloqueo de tbl_id_generators durante la carga. Devuelve el primero.
+   */
+  private long reserveIds(long count) {
+    return idTransaction.execute(status -> {
+      List<Long> next = jdbcTemplate.queryForList(
+        "SELECT next_val FROM tbl_id_generators WHERE generator_name = ? FOR UPDATE", Long.class, target.idGenerator);
+      if (next.isEmpty()) {
+        jdbcTemplate.update("INSERT INTO tbl_id_generators (generator_name, next_val) VALUES (?, ?)", target.idGenerator, 1 + count);
+        return 1L;
+      }
+      jdbcTemplate.update("UPDATE tbl_id_generators SET next_val = ? WHERE generator_name = ?", next.get(0) + count, target.idGenerator);
+      return next.get(0);
+    });
+  }
+
+  private String insertWithIdsSql(String staging, long firstId) {
+    return "INSERT INTO " + target.table + " (id, " + target.columns + ") "
+      + "SELECT " + firstId + " + ROW_NUMBER() OVER (ORDER BY seq) - 1, " + target.columns + " FROM " + staging;
+  }
+
+  private void deleteAfterCommit(List<Path> files) {
+    Runnable delete = () -> files.forEach(file -> {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        logger.warn("No se pudo borrar el archivo de staging {}", file, new UncheckedIOException(e));
+      }
+    });
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      delete.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        delete.run();
+      }
+    });
+  }
+
+  private Dialect dialect() {
+    String product;
+    try {
+      product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+    } catch (MetaDataAccessException e) {
+      throw new IllegalStateException("No se pudo determinar la base de datos de la carga masiva", e);
+    }
+    return switch (DatabaseDriver.fromProductName(product)) {
+      case MYSQL, MARIADB -> Dialect.MYSQL;
+      case H2 -> Dialect.H2;
+      default -> throw new IllegalStateException("writer=bulk no está soportado en " + product);
+    };
+  }
+
+  private enum Dialect {
+    /** LOAD DATA LOCAL INFILE; las tablas temporales se borran a mano, ya que viven mientras viva la conexión del pool. */
+    MYSQL(true) {
+      @Override
+      String createSql(String staging, Target target) {
+        return "CREATE TEMPORARY TABLE " + staging + " (" + seqColumn(target) + target.columnDefinitions + ")";
+      }
+
+      @Override
+      String dropSql(String staging) {
+        return "DROP TEMPORARY TABLE IF EXISTS " + staging;
+      }
+
+      @Override
+      String loadSql(Path file, String staging, Target target) {
+        return "LOAD DATA LOCAL INFILE '" + file.toAbsolutePath().toString().replace("\\", "\\\\").replace("'", "\\'") + "'"
+          + " INTO TABLE " + staging + " CHARACTER SET utf8mb4"
+          + " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+          + " LINES TERMINATED BY '\\n' (" + target.columns + ")";
+      }
+
+      @Override
+      String upsertSql(String staging, Target target) {
+        // Tabla derivada con alias new, que las columnas a actualizar referencian como la fila de un INSERT ... VALUES
+        return "INSERT INTO " + target.table + " (" + target.columns + ") SELECT * FROM (SELECT " + target.columns
+          + " FROM " + staging + ") AS new" + TransactionJdbcItemWriter.UPSERT_ASSIGNMENTS;
+      }
+    },
+    /** CSVREAD; en H2 DROP TABLE confirma la transacción, así que la tabla se borra con el commit (ON COMMIT DROP). */
+    H2(false) {
+      @Override
+      String createSql(String staging, Target target) {
+        return "CREATE LOCAL TEMPORARY TABLE " + staging + " (" + seqColumn(target) + target.columnDefinitions + ")"
+          + " ON COMMIT DROP TRANSACTIONAL";
+      }
+
+      @Override
+      String dropSql(String staging) {
+        return "DROP TABLE IF EXISTS " + staging;
+      }
+
+      @Override
+      String loadSql(Path file, String staging, Target target) {
+        return "INSERT INTO " + staging + " (" + target.columns + ") SELECT * FROM CSVREAD('"
+          + file.toAbsolutePath().toString().replace("'", "''") + "', '" + target.columns.replace(" ", "").toUpperCase()
+          + "', 'charset=UTF-8 null=NULL')";
+      }
+
+      @Override
+      String upsertSql(String staging, Target target) {
+        return "MERGE INTO " + target.table + " (" + target.columns + ") KEY (id) SELECT " + target.columns + " FROM " + staging;
+      }
+    };
+
+    private final boolean dropAfterLoad;
+
+    Dialect(boolean dropAfterLoad) {
+      this.dropAfterLoad = dropAfterLoad;
+    }
+
+    abstract String createSql(String staging, Target target);
+
+    abstract String dropSql(String staging);
+
+    abstract String loadSql(Path file, String staging, Target target);
+
+    /** Inserción en la tabla destino reemplazando las filas de igual id (solo transacciones). */
+    abstract String upsertSql(String staging, Target target);
+
+    /** Orden de llegada de las filas, con el que se numeran los ids reservados. */
+    private static String seqColumn(Target target) {
+      return target.idGenerator == null ? "" : "seq BIGINT AUTO_INCREMENT PRIMARY KEY, ";
+    }
+  }
+
+}
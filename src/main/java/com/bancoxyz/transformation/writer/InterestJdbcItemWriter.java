@@ -0,0 +1,70 @@
+package com.bancoxyz.transformation.writer;
+
+import javax.sql.DataSource;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.model.entity.Interest;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Writer JDBC para tbl_interests: envía cada chunk como un único batch JDBC, sin contexto de
+ * persistencia. A diferencia de JPA, un error de escritura no invalida la transacción del chunk,
+ * lo que permite aislar los registros culpables con {@link BisectingItemWriter}.
+ *
+ * Los ids se obtienen del mismo generador de tabla que usa Hibernate para la entidad
+ * (tbl_id_generators, bloques de 50), así que ambos modos pueden escribir en la misma tabla.
+ */
+public class InterestJdbcItemWriter implements ItemWriter<Interest> {
+
+  static final String INSERT_SQL =
+    "INSERT INTO tbl_interests (id, account_id, client_name, amount, client_age, interest_type) " +
+    "VALUES (:id, :accountId, :clientName, :amount, :clientAge, :interestType)";
+
+  private final SessionFactoryImplementor sessionFactory;
+  private final IdentifierGenerator idGenerator;
+  private final JdbcBatchItemWriter<Interest> interestWriter;
+
+  public InterestJdbcItemWriter(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    this.idGenerator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+      .getEntityDescriptor(Interest.class)
+      .getGenerator();
+    this.interestWriter = new JdbcBatchItemWriterBuilder<Interest>()
+      .dataSource(dataSource)
+      .sql(INSERT_SQL)
+      .beanMapped()
+      .build();
+    this.interestWriter.afterPropertiesSet();
+  }
+
+  @Override
+  public void write(@NonNull Chunk<? extends Interest> chunk) throws Exception {
+    assignIds(chunk);
+    interestWriter.write(chunk);
+  }
+
+  /**
+   * Los registros que ya tienen id (un chunk que se vuelve a escribir) lo conservan.
+   */
+  private void assignIds(Chunk<? extends Interest> chunk) {
+    // El generador reserva cada bloque en su propia conexión, fuera de la transacción del chunk
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      for (Interest interest : chunk) {
+        if (interest.getId() == null) {
+          interest.setId((Long) idGenerator.generate((SharedSessionContractImplementor) session, interest));
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+package com.bancoxyz.transformation.writer;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bancoxyz.transformation.processor.PipelinedItemProcessor.Result;
+
+/**
+ * Writer del modo pipelined: espera los Future de {@link com.bancoxyz.transformation.processor.PipelinedItemProcessor}
+ * (como AsyncItemWriter) y escribe los registros válidos con el writer del job, en el hilo del
+ * chunk, que pertenece al pool de I/O del step.
+ *
+ * Los registros rechazados o filtrados por el processor se quitan del chunk antes de escribir, de
+ * modo que el writeCount del step y los ItemWriteListener cuentan solo los registros escritos. Los
+ * rechazos se entregan a los skip listeners, igual que en el modo de rechazo FILTER, y al terminar
+ * el step se suman a su filterCount (solo los de chunks confirmados).
+ */
+public class PipelinedItemWriter<I, O> implements ItemStreamWriter<Future<Result<I, O>>>, StepExecutionListener {
+
+  private final ItemWriter<O> delegate;
+  private final List<SkipListener<? super I, ?>> skipListeners;
+  private final Map<Long, LongAdder> filtered = new ConcurrentHashMap<>();
+
+  public PipelinedItemWriter(ItemWriter<O> delegate, List<SkipListener<? super I, ?>> skipListeners) {
+    this.delegate = delegate;
+    this.skipListeners = skipListeners;
+  }
+
+  @Override
+  public void write(@NonNull Chunk<? extends Future<Result<I, O>>> chunk) throws Exception {
+    Chunk<O> outputs = new Chunk<>();
+    int removed = 0;
+    for (Iterator<? extends Future<Result<I, O>>> iterator = chunk.iterator(); iterator.hasNext(); ) {
+      Result<I, O> result = get(iterator.next());
+      if (result.output() != null) {
+        outputs.add(result.output());
+        continue;
+      }
+      iterator.remove();
+      removed++;
+      if (result.rejected()) {
+        for (SkipListener<? super I, ?> listener : skipListeners) {
+          listener.onSkipInProcess(result.input(), result.rejection());
+        }
+      }
+    }
+    countAfterCommit(removed);
+    if (!outputs.isEmpty()) {
+      delegate.write(outputs);
+    }
+  }
+
+  private Result<I, O> get(Future<Result<I, O>> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private void countAfterCommit(int removed) {
+    StepContext context = StepSynchronizationManager.getContext();
+    if (removed == 0 || context == null) {
+      return;
+    }
+    LongAdder counter = filtered.computeIfAbsent(context.getStepExecution().getId(), id -> new LongAdder());
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      counter.add(removed);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        counter.add(removed);
+      }
+    });
+  }
+
+  @Override
+  public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+    LongAdder counter = filtered.remove(stepExecution.getId());
+    if (counter != null) {
+      stepExecution.setFilterCount(stepExecution.getFilterCount() + counter.sum());
+    }
+    return null;
+  }
+
+  @Override
+  public void open(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    if (delegate instanceof ItemStream stream) {
+      stream.open(executionContext);
+    }
+  }
+
+  @Override
+  public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    if (delegate instanceof ItemStream stream) {
+      stream.update(executionContext);
+    }
+  }
+
+  @Override
+  public void close() throws ItemStreamException {
+    if (delegate instanceof ItemStream stream) {
+      stream.close();
+    }
+  }
+
+}
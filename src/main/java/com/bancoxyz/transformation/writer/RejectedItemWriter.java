@@ -0,0 +1,235 @@
+package com.bancoxyz.transformation.writer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Archivos CSV con los registros rechazados (omitidos) de un job, uno por JobExecution:
+ * con nombre base errores-transacciones.csv, la ejecución 42 escribe errores-transacciones-42.csv.
+ * Así varias ejecuciones del mismo job pueden correr en paralelo sin mezclar sus errores.
+ *
+ * Los skip listeners agregan registros a una cola sin bloqueo desde cualquier hilo; el archivo
+ * se elige según la ejecución del step en curso. La cola se vuelca al archivo al terminar cada
+ * chunk, o antes si acumula {@link #MAX_PENDING} registros, así que la memoria usada no depende
+ * de cuántos registros se rechacen. El archivo se crea con la cabecera al volcar el primer registro.
+ *
+ * Un step que corre en otra instancia (worker del particionamiento remoto) no tiene abierto el
+ * archivo de su ejecución, que abre el listener del job en la instancia que lo lanzó: escribe
+ * entonces su propio archivo, con el id de la ejecución del step como sufijo
+ * (errores-transacciones-42-57.csv), cuya ruta queda en el ExecutionContext del step.
+ */
+public class RejectedItemWriter<T> implements ChunkListener, StepExecutionListener {
+
+  /** Clave del ExecutionContext del job con la ruta del archivo de errores de la ejecución. */
+  public static final String ERROR_FILE_KEY = "errorFile";
+
+  static final int MAX_PENDING = 1000;
+
+  private final String fileName;
+  private final String header;
+  private final DelimitedLineAggregator<T> lineAggregator = new DelimitedLineAggregator<>();
+  private final Map<Long, Sink> sinks = new ConcurrentHashMap<>();
+  private final Map<Long, Sink> stepSinks = new ConcurrentHashMap<>();
+
+  public RejectedItemWriter(String fileName, String... names) {
+    this.fileName = fileName;
+    this.header = String.join(",", names);
+
+    BeanWrapperFieldExtractor<T> fieldExtractor = new BeanWrapperFieldExtractor<>();
+    fieldExtractor.setNames(names);
+    lineAggregator.setDelimiter(",");
+    lineAggregator.setFieldExtractor(fieldExtractor);
+  }
+
+  /**
+   * Prepara el archivo de errores de la ejecución, eliminando uno anterior con el mismo nombre,
+   * y guarda su ruta en el ExecutionContext del job ({@value #ERROR_FILE_KEY}). En un job que
+   * carga varios archivos (ingestionJob), la clave contiene las rutas separadas por comas.
+   *
+   * @return ruta del archivo de la ejecución
+   */
+  public Path open(JobExecution jobExecution) throws IOException {
+    Sink sink = new Sink(fileFor(jobExecution.getId()));
+    Files.deleteIfExists(sink.file);
+    sinks.put(jobExecution.getId(), sink);
+    ExecutionContext context = jobExecution.getExecutionContext();
+    String previous = context.getString(ERROR_FILE_KEY, null);
+    context.putString(ERROR_FILE_KEY, previous == null ? sink.file.toString() : previous + ", " + sink.file);
+    return sink.file;
+  }
+
+  /**
+   * Agrega un registro rechazado del step en curso; se escribe en el próximo volcado.
+   */
+  public void add(T item) {
+    StepContext context = StepSynchronizationManager.getContext();
+    if (context == null) {
+      throw new IllegalStateException("Los registros rechazados solo se pueden agregar durante un step");
+    }
+    Sink sink = sinkFor(context.getStepExecution());
+    if (sink == null) {
+      throw new IllegalStateException("No hay archivo de errores abierto para la ejecución " + context.getStepExecution().getJobExecutionId());
+    }
+    sink.add(item);
+  }
+
+  private Sink sinkFor(StepExecution stepExecution) {
+    Sink sink = sinks.get(stepExecution.getJobExecutionId());
+    return sink != null ? sink : stepSinks.get(stepExecution.getId());
+  }
+
+  /**
+   * Vuelca los registros pendientes y cierra el archivo de la ejecución.
+   *
+   * @return cantidad de registros escritos en la ejecución
+   */
+  public long close(JobExecution jobExecution) throws IOException {
+    Sink sink = sinks.remove(jobExecution.getId());
+    return sink == null ? 0 : sink.close();
+  }
+
+  public Path fileFor(long jobExecutionId) {
+    return withSuffix("-" + jobExecutionId);
+  }
+
+  private Path withSuffix(String suffix) {
+    int extension = fileName.lastIndexOf('.');
+    return extension < 0
+      ? Path.of(fileName + suffix)
+      : Path.of(fileName.substring(0, extension) + suffix + fileName.substring(extension));
+  }
+
+  /**
+   * Si el archivo de la ejecución del job no está abierto en esta instancia, abre uno propio del step.
+   */
+  @Override
+  public void beforeStep(@NonNull StepExecution stepExecution) {
+    if (sinks.containsKey(stepExecution.getJobExecutionId())) {
+      return;
+    }
+    Sink sink = new Sink(withSuffix("-" + stepExecution.getJobExecutionId() + "-" + stepExecution.getId()));
+    try {
+      Files.deleteIfExists(sink.file);
+    } catch (IOException e) {
+      throw new WriteFailedException("No se pudo preparar el archivo de errores " + sink.file, e);
+    }
+    stepSinks.put(stepExecution.getId(), sink);
+    stepExecution.getExecutionContext().putString(ERROR_FILE_KEY, sink.file.toString());
+  }
+
+  @Override
+  @Nullable
+  public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+    Sink sink = stepSinks.remove(stepExecution.getId());
+    if (sink != null) {
+      try {
+        sink.close();
+      } catch (IOException e) {
+        throw new WriteFailedException("No se pudo cerrar el archivo de errores " + sink.file, e);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void afterChunk(@NonNull ChunkContext context) {
+    flush(context);
+  }
+
+  @Override
+  public void afterChunkError(@NonNull ChunkContext context) {
+    flush(context);
+  }
+
+  private void flush(ChunkContext context) {
+    Sink sink = sinkFor(context.getStepContext().getStepExecution());
+    if (sink != null) {
+      sink.flush();
+    }
+  }
+
+  private final class Sink {
+    private final Path file;
+    private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferedWriter writer;
+
+    private Sink(Path file) {
+      this.file = file;
+    }
+
+    private void add(T item) {
+      pending.add(item);
+      if (pendingCount.incrementAndGet() >= MAX_PENDING) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      lock.lock();
+      try {
+        T item;
+        while ((item = pending.poll()) != null) {
+          pendingCount.decrementAndGet();
+          if (writer == null) {
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write(header);
+            writer.newLine();
+          }
+          writer.write(lineAggregator.aggregate(item));
+          writer.newLine();
+          writtenCount.incrementAndGet();
+        }
+        if (writer != null) {
+          writer.flush();
+        }
+      } catch (IOException e) {
+        throw new WriteFailedException("No se pudo escribir el archivo de errores " + file, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private long close() throws IOException {
+      lock.lock();
+      try {
+        flush();
+        if (writer != null) {
+          writer.close();
+          writer = null;
+        }
+        return writtenCount.get();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+}
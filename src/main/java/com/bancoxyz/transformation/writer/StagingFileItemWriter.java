@@ -0,0 +1,303 @@
+package com.bancoxyz.transformation.writer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writer del modo bulk: en lugar de escribir en la base de datos, agrega cada chunk validado a
+ * un archivo CSV de staging que después carga {@link BulkLoadTasklet} con LOAD DATA.
+ *
+ * Cada step (el step multi-hilo o cada partición) escribe su propio archivo,
+ * {@code <directorio>/<feed>-<instancia del job>-<step>.csv}, y deja su ruta en su ExecutionContext
+ * ({@code <feed>.staging.file}), de donde la toma la carga. El tamaño del archivo se guarda en el
+ * mismo contexto en cada commit junto con la posición del reader; al reiniciar, el archivo se
+ * trunca a ese tamaño y se descartan las líneas de chunks que no llegaron a confirmarse.
+ *
+ * Las líneas de un chunk se acumulan en su transacción y se agregan al archivo en
+ * {@link #update(ExecutionContext)}, que Spring Batch llama de a un chunk por vez justo antes del
+ * commit. El archivo queda bloqueado para los demás chunks hasta que termina la transacción: si
+ * hace rollback (por ejemplo, falla el commit o la actualización de los metadatos), el archivo se
+ * trunca al tamaño anterior al chunk, de modo que el reintento no duplica sus líneas y el tamaño
+ * guardado nunca incluye líneas de chunks sin confirmar.
+ *
+ * Formato: valores separados por comas, textos entre comillas dobles (duplicadas dentro del
+ * valor), fechas ISO y {@code NULL} sin comillas para los valores nulos.
+ */
+public class StagingFileItemWriter<T> implements ItemStreamWriter<T> {
+
+  static final String SIZE_KEY = "staging.size";
+  private static final String EXTENSION = ".csv";
+
+  private final String feed;
+  private final Path directory;
+  private final Function<T, Object[]> columns;
+  private final Map<Long, Sink> sinks = new ConcurrentHashMap<>();
+
+  /**
+   * @param feed      archivo de entrada (transaction, annualAccount): prefijo de los archivos y de la clave del contexto
+   * @param directory directorio de los archivos de staging
+   * @param columns   valores de cada registro, en el orden de las columnas de la carga
+   */
+  public StagingFileItemWriter(String feed, Path directory, Function<T, Object[]> columns) {
+    this.feed = feed;
+    this.directory = directory;
+    this.columns = columns;
+  }
+
+  @Override
+  public void open(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    StepExecution stepExecution = currentStep();
+    Path file = directory.resolve(feed + "-" + stepExecution.getJobExecution().getJobId() + "-"
+      + stepExecution.getStepName().replace(':', '-') + EXTENSION);
+    try {
+      Files.createDirectories(directory);
+      if (!executionContext.containsKey(SIZE_KEY)) {
+        Files.deleteIfExists(file);
+      }
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      long committed = executionContext.getLong(SIZE_KEY, 0L);
+      if (channel.size() < committed) {
+        channel.close();
+        throw new ItemStreamException("El archivo de staging " + file + " es más corto que en el último commit (" + committed + " bytes)");
+      }
+      channel.truncate(committed).position(committed);
+      executionContext.putString(fileKey(feed), file.toAbsolutePath().toString());
+      sinks.put(stepExecution.getId(), new Sink(file, channel));
+    } catch (IOException e) {
+      throw new ItemStreamException("No se pudo abrir el archivo de staging " + file, e);
+    }
+  }
+
+  /**
+   * Clave del ExecutionContext del step con la ruta de su archivo de staging.
+   */
+  public static String fileKey(String feed) {
+    return feed + ".staging.file";
+  }
+
+  @Override
+  public void write(@NonNull Chunk<? extends T> chunk) throws Exception {
+    Sink sink = sink(currentStep());
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      StringBuilder lines = new StringBuilder(chunk.size() * 64);
+      for (T item : chunk) {
+        appendLine(lines, columns.apply(item));
+      }
+      sink.append(StandardCharsets.UTF_8.encode(lines.toString()));
+      return;
+    }
+    PendingChunk pending = pendingChunk();
+    if (pending == null) {
+      pending = new PendingChunk(this, sink);
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+    for (T item : chunk) {
+      appendLine(pending.lines, columns.apply(item));
+    }
+  }
+
+  static void appendLine(StringBuilder line, Object[] values) {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        line.append(',');
+      }
+      Object value = values[i];
+      if (value == null) {
+        line.append("NULL");
+      } else if (value instanceof Number || value instanceof LocalDate) {
+        line.append(value);
+      } else {
+        line.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+      }
+    }
+    line.append('\n');
+  }
+
+  /**
+   * Agrega al archivo las líneas del chunk que se está confirmando y guarda el tamaño del archivo
+   * en el contexto del step, que se confirma junto con el chunk.
+   */
+  @Override
+  public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+    PendingChunk pending = pendingChunk();
+    if (pending != null) {
+      executionContext.putLong(SIZE_KEY, pending.appendToFile());
+      return;
+    }
+    Sink sink = sinks.get(currentStep().getId());
+    if (sink != null) {
+      executionContext.putLong(SIZE_KEY, sink.size());
+    }
+  }
+
+  @Override
+  public void close() throws ItemStreamException {
+    StepContext context = StepSynchronizationManager.getContext();
+    if (context == null) {
+      return;
+    }
+    Sink sink = sinks.remove(context.getStepExecution().getId());
+    if (sink != null) {
+      try {
+        sink.channel.close();
+      } catch (IOException e) {
+        throw new ItemStreamException("No se pudo cerrar el archivo de staging " + sink.file, e);
+      }
+    }
+  }
+
+  /**
+   * @return las líneas pendientes del chunk en la transacción actual, o {@code null} si no hay
+   */
+  private PendingChunk pendingChunk() {
+    return TransactionSynchronizationManager.isSynchronizationActive()
+      ? (PendingChunk) TransactionSynchronizationManager.getResource(this)
+      : null;
+  }
+
+  private Sink sink(StepExecution stepExecution) {
+    Sink sink = sinks.get(stepExecution.getId());
+    if (sink == null) {
+      throw new IllegalStateException("No hay archivo de staging abierto para " + stepExecution.getStepName());
+    }
+    return sink;
+  }
+
+  private static StepExecution currentStep() {
+    StepContext context = StepSynchronizationManager.getContext();
+    if (context == null) {
+      throw new IllegalStateException("El archivo de staging solo se puede escribir durante un step");
+    }
+    return context.getStepExecution();
+  }
+
+  /**
+   * Líneas de un chunk pendientes de agregar al archivo, ligadas a la transacción del chunk.
+   * Se ordena antes que las demás sincronizaciones para truncar el archivo (y liberarlo) antes de
+   * que Spring Batch deje pasar al siguiente chunk.
+   */
+  private static final class PendingChunk implements TransactionSynchronization {
+    private final Object key;
+    private final Sink sink;
+    private final StringBuilder lines = new StringBuilder();
+    private long start = -1;
+
+    /**
+     * @param key  clave con que el chunk queda ligado a la transacción (el writer)
+     * @param sink archivo del step
+     */
+    private PendingChunk(Object key, Sink sink) {
+      this.key = key;
+      this.sink = sink;
+    }
+
+    /**
+     * Bloquea el archivo hasta el fin de la transacción, agrega las líneas y devuelve el nuevo tamaño.
+     */
+    private long appendToFile() {
+      if (start < 0) {
+        sink.lock.lock();
+        try {
+          start = sink.size();
+        } catch (RuntimeException e) {
+          sink.lock.unlock();
+          throw e;
+        }
+        sink.append(StandardCharsets.UTF_8.encode(lines.toString()));
+        lines.setLength(0);
+      }
+      return sink.size();
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(key);
+      if (start < 0) {
+        return;
+      }
+      try {
+        if (status != STATUS_COMMITTED) {
+          sink.truncate(start);
+        }
+      } finally {
+        sink.lock.unlock();
+      }
+    }
+  }
+
+  private static final class Sink {
+    private final Path file;
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Sink(Path file, FileChannel channel) {
+      this.file = file;
+      this.channel = channel;
+    }
+
+    private void append(ByteBuffer bytes) {
+      lock.lock();
+      try {
+        while (bytes.hasRemaining()) {
+          channel.write(bytes);
+        }
+      } catch (IOException e) {
+        throw new WriteFailedException("No se pudo escribir el archivo de staging " + file, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void truncate(long size) {
+      lock.lock();
+      try {
+        channel.truncate(size).position(size);
+      } catch (IOException e) {
+        throw new ItemStreamException("No se pudieron descartar las líneas sin confirmar del archivo de staging " + file, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private long size() {
+      lock.lock();
+      try {
+        return channel.position();
+      } catch (IOException e) {
+        throw new ItemStreamException("No se pudo leer el tamaño del archivo de staging " + file, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+}
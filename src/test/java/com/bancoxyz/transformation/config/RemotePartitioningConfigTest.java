@@ -0,0 +1,152 @@
+package com.bancoxyz.transformation.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.integration.partition.StepExecutionRequest;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.endpoint.AbstractEndpoint;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.lang.NonNull;
+
+/**
+ * Pruebas del worker de particionamiento remoto con el transporte local: ejecuta las
+ * particiones recibidas por la cola en memoria tomando un permiso del cupo solo mientras
+ * corre la partición, y no arranca si ningún job usa step-mode=remote.
+ */
+class RemotePartitioningConfigTest {
+
+  private static final StepExecution PARTITION = MetaDataInstanceFactory.createStepExecution("transactionWorkerStep:partition0", 7L);
+
+  @Test
+  void ejecutaLaParticionRecibidaPorLaColaLocalConUnPermisoDelCupo() throws Exception {
+    try (AnnotationConfigApplicationContext context = context(IngestionProperties.StepMode.REMOTE)) {
+      ConnectionBudget budget = context.getBean(ConnectionBudget.class);
+      WorkerStep step = context.getBean(WorkerStep.class);
+
+      // Los hilos que esperan solicitudes en el canal no ocupan el cupo
+      Thread.sleep(200);
+      assertEquals(0, budget.getInUse());
+
+      context.getBean("transactionPartitionRequests", QueueChannel.class).send(MessageBuilder
+        .withPayload(new StepExecutionRequest("transactionWorkerStep", PARTITION.getJobExecutionId(), PARTITION.getId()))
+        .build());
+
+      assertTrue(step.executed.await(5, TimeUnit.SECONDS));
+      assertEquals(1, step.permitsInUse.get());
+      assertEquals(BatchStatus.COMPLETED, PARTITION.getStatus());
+    }
+  }
+
+  @Test
+  void noArrancaSiNingunJobUsaElModoRemoto() {
+    try (AnnotationConfigApplicationContext context = context(IngestionProperties.StepMode.MULTI_THREADED)) {
+      AbstractEndpoint endpoint = context.getBeansOfType(AbstractEndpoint.class).values().stream()
+        .filter(candidate -> candidate.getComponentName().startsWith("transactionPartitionWorker"))
+        .findFirst()
+        .orElseThrow();
+      assertFalse(endpoint.isRunning());
+    }
+  }
+
+  private static AnnotationConfigApplicationContext context(IngestionProperties.StepMode stepMode) {
+    AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.registerBean(IngestionProperties.StepMode.class, () -> stepMode);
+    context.register(WorkerContext.class);
+    context.refresh();
+    return context;
+  }
+
+  @Configuration
+  @EnableIntegration
+  static class WorkerContext {
+
+    @Bean
+    IngestionProperties ingestionProperties(IngestionProperties.StepMode stepMode) {
+      IngestionProperties properties = new IngestionProperties();
+      properties.setConnectionBudget(2);
+      properties.getTransaction().setStepMode(stepMode);
+      properties.getRemote().setPollInterval(Duration.ofMillis(50));
+      return properties;
+    }
+
+    @Bean
+    ConnectionBudget connectionBudget(IngestionProperties ingestionProperties) {
+      return new ConnectionBudget(ingestionProperties, null);
+    }
+
+    @Bean
+    QueueChannel transactionPartitionRequests() {
+      return new QueueChannel();
+    }
+
+    @Bean
+    JobExplorer jobExplorer() {
+      JobExplorer jobExplorer = mock(JobExplorer.class);
+      when(jobExplorer.getStepExecution(anyLong(), anyLong())).thenReturn(PARTITION);
+      return jobExplorer;
+    }
+
+    @Bean
+    WorkerStep transactionWorkerStep(ConnectionBudget connectionBudget) {
+      return new WorkerStep(connectionBudget);
+    }
+
+    @Bean
+    IntegrationFlow transactionPartitionWorker(QueueChannel transactionPartitionRequests, JobExplorer jobExplorer,
+        BeanFactory beanFactory, ConnectionBudget connectionBudget, IngestionProperties ingestionProperties) {
+      return new RemotePartitioningConfig().transactionPartitionWorker(transactionPartitionRequests, jobExplorer,
+        beanFactory, connectionBudget, ingestionProperties);
+    }
+  }
+
+  /**
+   * Step de la partición: registra cuántos permisos del cupo están en uso mientras se ejecuta.
+   */
+  static class WorkerStep implements Step {
+
+    private final ConnectionBudget connectionBudget;
+    private final AtomicInteger permitsInUse = new AtomicInteger(-1);
+    private final CountDownLatch executed = new CountDownLatch(1);
+
+    WorkerStep(ConnectionBudget connectionBudget) {
+      this.connectionBudget = connectionBudget;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+      return "transactionWorkerStep";
+    }
+
+    @Override
+    public void execute(@NonNull StepExecution stepExecution) throws JobInterruptedException {
+      permitsInUse.set(connectionBudget.getInUse());
+      stepExecution.setStatus(BatchStatus.COMPLETED);
+      executed.countDown();
+    }
+  }
+
+}
@@ -0,0 +1,61 @@
+package com.bancoxyz.transformation.config;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pruebas unitarias del WriteBehindJobRepository: agrupación de las actualizaciones por commit.
+ */
+class WriteBehindJobRepositoryTest {
+
+  private final JobRepository delegate = mock(JobRepository.class);
+
+  @Test
+  void escribeElInicioYElFinYDifiereLosCommits() {
+    JobRepository jobRepository = WriteBehindJobRepository.wrap(delegate, Duration.ofHours(1), new SimpleMeterRegistry());
+    JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("transactionJob", 1L, 10L);
+    StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobExecution, "transactionStep", 20L);
+
+    stepExecution.setStatus(BatchStatus.STARTED);
+    jobRepository.update(stepExecution);
+    for (int i = 0; i < 100; i++) {
+      jobRepository.updateExecutionContext(stepExecution);
+      jobRepository.update(stepExecution);
+    }
+    stepExecution.setStatus(BatchStatus.COMPLETED);
+    jobRepository.updateExecutionContext(stepExecution);
+    jobRepository.update(stepExecution);
+    jobRepository.update(jobExecution);
+
+    verify(delegate, times(2)).update(stepExecution);
+    verify(delegate, times(2)).updateExecutionContext(stepExecution);
+    verify(delegate).update(jobExecution);
+  }
+
+  @Test
+  void sinIntervaloEscribeCadaCommit() {
+    JobRepository jobRepository = WriteBehindJobRepository.wrap(delegate, Duration.ZERO, new SimpleMeterRegistry());
+    JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("transactionJob", 1L, 10L);
+    StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobExecution, "transactionStep", 20L);
+
+    stepExecution.setStatus(BatchStatus.STARTED);
+    for (int i = 0; i < 10; i++) {
+      jobRepository.update(stepExecution);
+    }
+
+    verify(delegate, times(10)).update(stepExecution);
+  }
+
+}
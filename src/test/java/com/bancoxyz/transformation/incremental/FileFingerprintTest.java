@@ -0,0 +1,69 @@
+package com.bancoxyz.transformation.incremental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas unitarias de FileFingerprint: hash de bloques muestreados y conteo de líneas.
+ */
+class FileFingerprintTest {
+
+  @TempDir
+  Path dir;
+
+  private Path file(String content) throws Exception {
+    return Files.write(dir.resolve("datos.csv"), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void elHashDelInicioSeMantieneAlAgregarLineas() throws Exception {
+    String original = "id,monto\n" + "1,100\n".repeat(50_000);
+    Path file = file(original);
+    String hash;
+    try (FileChannel channel = FileFingerprint.open(file)) {
+      hash = FileFingerprint.hash(channel, channel.size());
+    }
+
+    Files.writeString(file, "2,200\n3,300\n", StandardOpenOption.APPEND);
+    try (FileChannel channel = FileFingerprint.open(file)) {
+      assertEquals(hash, FileFingerprint.hash(channel, original.length()));
+      assertNotEquals(hash, FileFingerprint.hash(channel, channel.size()));
+      assertEquals(2, FileFingerprint.countLines(channel, original.length()));
+    }
+  }
+
+  @Test
+  void detectaCambiosEnLosBloquesMuestreados() throws Exception {
+    String content = "id,monto\n" + "1,100\n".repeat(50_000);
+    String hash;
+    try (FileChannel channel = FileFingerprint.open(file(content))) {
+      hash = FileFingerprint.hash(channel, channel.size());
+    }
+
+    String edited = content.substring(0, content.length() - 4) + "999\n";
+    try (FileChannel channel = FileFingerprint.open(file(edited))) {
+      assertNotEquals(hash, FileFingerprint.hash(channel, channel.size()));
+    }
+  }
+
+  @Test
+  void cuentaLaUltimaLineaSinSaltoDeLinea() throws Exception {
+    try (FileChannel channel = FileFingerprint.open(file("id\n1\n2"))) {
+      assertEquals(3, FileFingerprint.countLines(channel, 0));
+      assertTrue(FileFingerprint.endsWithNewline(channel, 5));
+      assertFalse(FileFingerprint.endsWithNewline(channel, channel.size()));
+    }
+  }
+
+}
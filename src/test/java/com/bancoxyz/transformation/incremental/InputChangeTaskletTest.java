@@ -0,0 +1,100 @@
+package com.bancoxyz.transformation.incremental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.core.io.FileSystemResource;
+
+import com.bancoxyz.transformation.config.IngestionProperties;
+
+/**
+ * Pruebas de InputChangeTasklet sobre un archivo mayor que los bloques muestreados: solo se
+ * procesan las líneas agregadas si el resto del archivo no cambió.
+ */
+class InputChangeTaskletTest {
+
+  private static final String FEED = "transaction";
+
+  @TempDir
+  Path dir;
+
+  private Path file;
+  private InputChangeTasklet tasklet;
+  private JobExecution previous;
+  private long executionId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // ~1,4 MB: más que los 8 bloques de 64 KB del hash muestreado
+    file = Files.write(dir.resolve("transacciones.csv"),
+      ("id,monto\n" + "1,100\n".repeat(240_000)).getBytes(StandardCharsets.UTF_8));
+
+    IngestionProperties.JobSettings settings = new IngestionProperties.JobSettings();
+    settings.setInput(new FileSystemResource(file));
+
+    JobExplorer jobExplorer = mock(JobExplorer.class);
+    tasklet = new InputChangeTasklet(jobExplorer, FEED, settings, 1);
+
+    previous = run();
+    previous.setStatus(BatchStatus.COMPLETED);
+    when(jobExplorer.getJobInstances(anyString(), anyInt(), anyInt())).thenReturn(List.of(previous.getJobInstance()));
+    when(jobExplorer.getJobExecutions(any())).thenReturn(List.of(previous));
+  }
+
+  @Test
+  void procesaSoloLasLineasAgregadas() throws Exception {
+    long previousSize = Files.size(file);
+    Files.writeString(file, "2,200\n3,300\n", StandardOpenOption.APPEND);
+
+    ExecutionContext context = run().getExecutionContext();
+
+    assertEquals(240_000, context.getLong(FEED + "." + InputChangeTasklet.START_RECORD));
+    assertEquals(previousSize, context.getLong(FEED + "." + InputChangeTasklet.START_BYTE));
+    assertEquals(240_002, FileFingerprint.readFrom(context, FEED).getRecords());
+  }
+
+  @Test
+  void procesaCompletoUnArchivoEditadoFueraDeLosBloquesMuestreadosYConLineasAgregadas() throws Exception {
+    String content = Files.readString(file);
+    // Línea a mitad de camino entre el primer y el segundo bloque muestreado
+    int edited = content.indexOf("1,100\n", 100_000);
+    Files.writeString(file, content.substring(0, edited) + "1,999\n" + content.substring(edited + 6) + "2,200\n");
+
+    ExecutionContext context = run().getExecutionContext();
+
+    assertFalse(context.containsKey(FEED + "." + InputChangeTasklet.START_RECORD));
+    assertFalse(context.containsKey(FEED + "." + InputChangeTasklet.START_BYTE));
+    assertEquals(240_001, FileFingerprint.readFrom(context, FEED).getRecords());
+  }
+
+  private JobExecution run() throws Exception {
+    JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("transactionJob", 1L, ++executionId);
+    StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobExecution, "inputChangeStep", executionId);
+    tasklet.execute(new StepContribution(stepExecution), new ChunkContext(new StepContext(stepExecution)));
+    return stepExecution.getJobExecution();
+  }
+
+}
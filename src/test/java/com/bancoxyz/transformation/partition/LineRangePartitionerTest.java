@@ -0,0 +1,42 @@
+package com.bancoxyz.transformation.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Pruebas unitarias del LineRangePartitioner: verifica que los rangos generados
+ * cubren todos los registros del archivo sin solaparse.
+ */
+class LineRangePartitionerTest {
+
+  private static final String CSV = "id,fecha,monto,tipo\n1,a,1,x\n2,b,2,x\n3,c,3,x\n4,d,4,x\n5,e,5,x";
+
+  @Test
+  void rangosCubrenTodosLosRegistrosSinSolaparse() {
+    LineRangePartitioner partitioner = new LineRangePartitioner(
+      new ByteArrayResource(CSV.getBytes(StandardCharsets.UTF_8)), 1);
+
+    Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+    assertEquals(2, partitions.size());
+    assertEquals(0, partitions.get("partition0").getInt(LineRangePartitioner.START_LINE));
+    assertEquals(3, partitions.get("partition0").getInt(LineRangePartitioner.END_LINE));
+    assertEquals(3, partitions.get("partition1").getInt(LineRangePartitioner.START_LINE));
+    assertEquals(5, partitions.get("partition1").getInt(LineRangePartitioner.END_LINE));
+  }
+
+  @Test
+  void noGeneraMasParticionesQueRegistros() {
+    LineRangePartitioner partitioner = new LineRangePartitioner(
+      new ByteArrayResource(CSV.getBytes(StandardCharsets.UTF_8)), 1);
+
+    assertEquals(5, partitioner.partition(10).size());
+  }
+
+}
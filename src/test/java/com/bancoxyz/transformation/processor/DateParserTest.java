@@ -0,0 +1,73 @@
+package com.bancoxyz.transformation.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias del DateParser: reglas de ambigüedad dd/MM - MM/dd y equivalencia con
+ * la secuencia de DateTimeFormatter que usaban los processors.
+ */
+class DateParserTest {
+
+  private static final List<DateTimeFormatter> FORMATTERS = List.of(
+    DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+    DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+    DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+    DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+    DateTimeFormatter.ofPattern("yyyy/MM/dd")
+  );
+
+  private static LocalDate parseWithFormatters(String value) {
+    for (DateTimeFormatter formatter : FORMATTERS) {
+      try {
+        return LocalDate.parse(value.trim(), formatter);
+      } catch (DateTimeParseException e) {
+        // siguiente formato
+      }
+    }
+    return null;
+  }
+
+  @Test
+  void resuelveLaAmbiguedadDiaMes() {
+    assertEquals(LocalDate.of(2024, 4, 3), DateParser.parse("03/04/2024"));
+    assertEquals(LocalDate.of(2024, 4, 13), DateParser.parse("04/13/2024"));
+    assertEquals(LocalDate.of(2024, 4, 3), DateParser.parse("03-04-2024"));
+    assertNull(DateParser.parse("04-13-2024"));
+    assertNull(DateParser.parse("13/13/2024"));
+  }
+
+  @Test
+  void ajustaElDiaAlLargoDelMes() {
+    assertEquals(LocalDate.of(2024, 2, 29), DateParser.parse("31/02/2024"));
+    assertEquals(LocalDate.of(2023, 2, 28), DateParser.parse("2023-02-30"));
+    assertNull(DateParser.parse("2024-02-32"));
+  }
+
+  @Test
+  void equivaleALosFormattersAnteriores() {
+    String[] layouts = {"%3$s-%2$s-%1$s", "%3$s/%2$s/%1$s", "%1$s/%2$s/%3$s", "%1$s-%2$s-%3$s", "%1$s.%2$s.%3$s"};
+    String[] years = {"2024", "2023", "0000", "0001", "20x4"};
+    for (String layout : layouts) {
+      for (String year : years) {
+        for (int a = 0; a <= 33; a++) {
+          for (int b = 0; b <= 33; b++) {
+            String value = String.format(layout, String.format("%02d", a), String.format("%02d", b), year);
+            assertEquals(parseWithFormatters(value), DateParser.parse(value), value);
+          }
+        }
+      }
+    }
+    for (String value : new String[] {"", " ", "2024-1-05", " 2024-01-05 ", "2024-01/05", "5/1/2024", "fecha", "2024-01-05x"}) {
+      assertEquals(parseWithFormatters(value), DateParser.parse(value), value);
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.bancoxyz.transformation.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.exception.RejectionReason;
+import com.bancoxyz.transformation.model.entity.Transaction;
+import com.bancoxyz.transformation.model.input.TransactionInput;
+
+/**
+ * Pruebas unitarias del FilteringItemProcessor (modo de rechazo FILTER).
+ */
+class FilteringItemProcessorTest {
+
+  private final List<Throwable> rejections = new ArrayList<>();
+
+  private final SkipListener<TransactionInput, Transaction> listener = new SkipListener<>() {
+    @Override
+    public void onSkipInProcess(@NonNull TransactionInput item, @NonNull Throwable t) {
+      rejections.add(t);
+    }
+  };
+
+  private TransactionInput input(Integer monto, String fecha) {
+    TransactionInput input = new TransactionInput();
+    input.setId(1L);
+    input.setMonto(monto);
+    input.setFecha(fecha);
+    input.setTipo("credito");
+    return input;
+  }
+
+  @Test
+  void filtraElRechazoYLoEntregaALosSkipListeners() throws Exception {
+    FilteringItemProcessor<TransactionInput, Transaction> processor =
+      new FilteringItemProcessor<>(new TransactionItemProcessor(), List.of(listener));
+
+    assertNull(processor.process(input(0, "2024-01-15")));
+    assertNotNull(processor.process(input(100, "2024-01-15")));
+
+    assertEquals(1, rejections.size());
+    InvalidDataException rejection = (InvalidDataException) rejections.get(0);
+    assertEquals(RejectionReason.MONTO_CERO, rejection.getReason());
+    assertEquals(0, rejection.getStackTrace().length);
+  }
+
+  @Test
+  void propagaLosDemasErrores() {
+    IllegalStateException error = new IllegalStateException("falla");
+    FilteringItemProcessor<TransactionInput, Transaction> processor =
+      new FilteringItemProcessor<>(item -> { throw error; }, List.of(listener));
+
+    assertSame(error, assertThrows(IllegalStateException.class, () -> processor.process(input(100, "2024-01-15"))));
+    assertEquals(0, rejections.size());
+  }
+
+}
@@ -0,0 +1,160 @@
+package com.bancoxyz.transformation.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Pruebas unitarias del ConcurrentBlockItemReader: lectura concurrente sin duplicados
+ * y posición de reinicio limitada a los registros confirmados por su chunk.
+ */
+class ConcurrentBlockItemReaderTest {
+
+  private static ConcurrentBlockItemReader<String> reader(int records, int blockSize) {
+    StringBuilder csv = new StringBuilder("cabecera\n");
+    for (int i = 0; i < records; i++) {
+      csv.append(i).append('\n');
+    }
+    return new ConcurrentBlockItemReader<>("test",
+      new ByteArrayResource(csv.toString().getBytes(StandardCharsets.UTF_8)), 1, (line, number) -> line, blockSize);
+  }
+
+  @Test
+  void cadaRegistroSeEntregaUnaSolaVezEntreHilos() throws Exception {
+    ConcurrentBlockItemReader<String> reader = reader(10_000, 7);
+    reader.open(new ExecutionContext());
+
+    List<String> items = Collections.synchronizedList(new ArrayList<>());
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      futures.add(executor.submit(() -> {
+        String item;
+        while ((item = reader.read()) != null) {
+          items.add(item);
+        }
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    assertEquals(10_000, items.size());
+    assertEquals(10_000, items.stream().distinct().count());
+  }
+
+  @Test
+  void reiniciaDesdeElPrimerBloqueNoConfirmado() throws Exception {
+    ConcurrentBlockItemReader<String> reader = reader(20, 5);
+    ExecutionContext context = new ExecutionContext();
+    reader.open(context);
+
+    // Hilo actual: lee y confirma el primer bloque completo (0-4)
+    for (int i = 0; i < 5; i++) {
+      reader.read();
+    }
+    reader.update(context);
+
+    // Otro hilo lee el registro 5 y no llega a confirmarlo
+    Thread other = new Thread(() -> {
+      try {
+        reader.read();
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    other.start();
+    other.join();
+
+    // El hilo actual confirma los registros 6 a 14
+    for (int i = 0; i < 9; i++) {
+      reader.read();
+    }
+    reader.update(context);
+    reader.close();
+
+    assertEquals(5L, context.getLong("test.read.count"));
+
+    ConcurrentBlockItemReader<String> restarted = reader(20, 5);
+    restarted.open(context);
+    assertEquals("5", restarted.read());
+    for (int i = 0; i < 14; i++) {
+      restarted.read();
+    }
+    assertNull(restarted.read());
+  }
+
+  @Test
+  void losRegistrosDeUnChunkConRollbackSeConfirmanCuandoElReintentoLoCompleta() throws Exception {
+    ConcurrentBlockItemReader<String> reader = reader(20, 5);
+    ExecutionContext context = new ExecutionContext();
+    reader.open(context);
+    StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+    ChunkContext failed = new ChunkContext(new StepContext(stepExecution));
+
+    // Otro hilo lee el chunk 0-4 y hace rollback: los items quedan en su ChunkContext
+    runInThread(() -> {
+      reader.beforeChunk(failed);
+      for (int i = 0; i < 5; i++) {
+        reader.read();
+      }
+      reader.afterChunkError(failed);
+    });
+
+    // El hilo actual confirma el chunk 5-9: el chunk con rollback sigue pendiente
+    ChunkContext next = new ChunkContext(new StepContext(stepExecution));
+    reader.beforeChunk(next);
+    for (int i = 0; i < 5; i++) {
+      reader.read();
+    }
+    next.setComplete();
+    reader.update(context);
+    reader.afterChunk(next);
+    assertEquals(0L, context.getLong("test.read.count"));
+
+    // El reintento del chunk con rollback se confirma en un tercer hilo
+    runInThread(() -> {
+      reader.beforeChunk(failed);
+      failed.setComplete();
+      reader.update(context);
+      reader.afterChunk(failed);
+    });
+    reader.close();
+
+    assertEquals(10L, context.getLong("test.read.count"));
+  }
+
+  private static void runInThread(ThrowingRunnable action) throws InterruptedException {
+    Thread thread = new Thread(() -> {
+      try {
+        action.run();
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    thread.start();
+    thread.join();
+  }
+
+  private interface ThrowingRunnable {
+    void run() throws Exception;
+  }
+
+}
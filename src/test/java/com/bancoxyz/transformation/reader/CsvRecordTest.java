@@ -0,0 +1,53 @@
+package com.bancoxyz.transformation.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias de CsvRecord: los números se validan igual que en DefaultFieldSet.
+ */
+class CsvRecordTest {
+
+  private static CsvRecord record(String line, int fields) {
+    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+    return new CsvRecord(ByteBuffer.wrap(bytes), 0, bytes.length, fields);
+  }
+
+  @Test
+  void leeEnterosConSignoYEspaciosLaterales() {
+    CsvRecord record = record(" 42 ,-7,+3,", 4);
+
+    assertEquals(42, record.readIntOrNull(0));
+    assertEquals(-7, record.readIntOrNull(1));
+    assertEquals(3, record.readIntOrNull(2));
+    assertNull(record.readIntOrNull(3));
+  }
+
+  @Test
+  void unDecimalOTextoAlFinalNoEsUnEntero() {
+    CsvRecord record = record("12.5,100abc,1 000,-,abc", 5);
+
+    for (int i = 0; i < 5; i++) {
+      assertNull(record.readIntOrNull(i), "campo " + i);
+      assertEquals(-1, record.readInt(i, -1), "campo " + i);
+    }
+    assertThrows(NumberFormatException.class, () -> record.readLong(0));
+    assertThrows(NumberFormatException.class, () -> record.readInt(1));
+  }
+
+  @Test
+  void unValorFueraDeRangoNoEsUnEntero() {
+    CsvRecord record = record("2147483648,9223372036854775807,9223372036854775808", 3);
+
+    assertNull(record.readIntOrNull(0));
+    assertEquals(Long.MAX_VALUE, record.readLongOrNull(1));
+    assertNull(record.readLongOrNull(2));
+  }
+
+}
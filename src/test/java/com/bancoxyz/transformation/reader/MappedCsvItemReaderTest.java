@@ -0,0 +1,82 @@
+package com.bancoxyz.transformation.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * Pruebas unitarias del MappedCsvItemReader: interpretación de campos desde los bytes,
+ * registro inválido en la excepción y reinicio por desplazamiento.
+ */
+class MappedCsvItemReaderTest {
+
+  @TempDir
+  Path dir;
+
+  private MappedCsvItemReader<String> reader(String csv, int blockSize) throws Exception {
+    Path file = dir.resolve("datos.csv");
+    Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+    return new MappedCsvItemReader<>("test", new FileSystemResource(file), 1, 3,
+      record -> record.readString(0) + "|" + record.readString(1) + "|" + record.readIntOrNull(2), blockSize);
+  }
+
+  @Test
+  void interpretaCamposDesdeLosBytes() throws Exception {
+    MappedCsvItemReader<String> reader = reader("a,b,c\n 1 ,\"año, 2024\",1500.7\n2,,\n3", 2);
+    reader.open(new ExecutionContext());
+
+    assertEquals("1|año, 2024|null", reader.read());
+    assertEquals("2||null", reader.read());
+    assertEquals("3||null", reader.read());
+    assertNull(reader.read());
+    reader.close();
+  }
+
+  @Test
+  void reiniciaDesdeElDesplazamientoConfirmado() throws Exception {
+    String csv = "a,b,c\n1,x,1\n2,x,2\n3,x,3\n4,x,4\n";
+    MappedCsvItemReader<String> reader = reader(csv, 2);
+    ExecutionContext context = new ExecutionContext();
+    reader.open(context);
+    reader.read();
+    reader.read();
+    reader.update(context);
+    reader.read();
+    reader.close();
+
+    assertEquals(csv.indexOf("3,"), context.getLong("test.byte.offset"));
+
+    MappedCsvItemReader<String> restarted = reader(csv, 2);
+    restarted.open(context);
+    assertEquals("3|x|3", restarted.read());
+    assertEquals("4|x|4", restarted.read());
+    assertNull(restarted.read());
+    restarted.close();
+  }
+
+  @Test
+  void laExcepcionDeUnRegistroInvalidoIncluyeSuTexto() throws Exception {
+    Path file = dir.resolve("datos.csv");
+    Files.write(file, "a,b\r\n1,x\r\nmal,y\r\n".getBytes(StandardCharsets.UTF_8));
+    MappedCsvItemReader<Integer> reader = new MappedCsvItemReader<>("test", new FileSystemResource(file), 1, 2,
+      record -> record.readInt(0), 10);
+    reader.open(new ExecutionContext());
+
+    assertEquals(1, reader.read());
+    FlatFileParseException e = assertThrows(FlatFileParseException.class, reader::read);
+    assertEquals("mal,y", e.getInput());
+    assertEquals(3, e.getLineNumber());
+    reader.close();
+  }
+
+}
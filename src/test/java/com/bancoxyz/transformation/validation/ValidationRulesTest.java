@@ -0,0 +1,90 @@
+package com.bancoxyz.transformation.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.exception.RejectionReason;
+import com.bancoxyz.transformation.model.input.InterestInput;
+import com.bancoxyz.transformation.model.input.TransactionInput;
+
+/**
+ * Pruebas unitarias de ValidationRules: orden de evaluación y semántica de cada tipo de regla.
+ */
+class ValidationRulesTest {
+
+  private static final ValidationRules.Value<LocalDate> FECHA = new ValidationRules.Value<>(LocalDate.class);
+
+  private static final ValidationRules<TransactionInput> TRANSACTION_RULES = ValidationRules.<TransactionInput>builder()
+    .notNull(TransactionInput::getMonto, RejectionReason.MONTO_NULO, "El monto no puede ser null")
+    .notZero(TransactionInput::getMonto, RejectionReason.MONTO_CERO, "El monto no puede ser 0")
+    .notBlank(TransactionInput::getFecha, RejectionReason.FECHA_VACIA, "La fecha no puede ser null o vacía")
+    .date(TransactionInput::getFecha, FECHA, RejectionReason.FECHA_INVALIDA, item -> "Fecha inválida: " + item.getFecha())
+    .build();
+
+  private static RejectionReason reason(TransactionInput item) {
+    ValidationRule<TransactionInput> violated = TRANSACTION_RULES.check(item);
+    return violated == null ? null : violated.getReason();
+  }
+
+  @Test
+  void devuelveLaPrimeraReglaIncumplida() {
+    assertEquals(RejectionReason.MONTO_NULO, reason(new TransactionInput(1L, "fecha", null, "credito")));
+    assertEquals(RejectionReason.MONTO_CERO, reason(new TransactionInput(1L, "  ", 0, "credito")));
+    assertEquals(RejectionReason.FECHA_VACIA, reason(new TransactionInput(1L, "  ", 100, "credito")));
+    assertEquals(RejectionReason.FECHA_VACIA, reason(new TransactionInput(1L, null, 100, "credito")));
+    assertEquals(RejectionReason.FECHA_INVALIDA, reason(new TransactionInput(1L, "2024-13-01", 100, "credito")));
+    assertNull(reason(new TransactionInput(1L, "31/12/2024", 100, "credito")));
+  }
+
+  @Test
+  void construyeElMensajeConElRegistro() {
+    TransactionInput item = new TransactionInput(1L, "2024-13-01", 100, "credito");
+    assertEquals("Fecha inválida: 2024-13-01", TRANSACTION_RULES.check(item).message(item));
+  }
+
+  @Test
+  void entregaLaFechaInterpretadaAlValidar() {
+    ValidationRules.Result<TransactionInput> result = TRANSACTION_RULES.validate(new TransactionInput(1L, "31/12/2024", 100, "credito"));
+
+    assertNull(result.getViolated());
+    assertEquals(LocalDate.of(2024, 12, 31), result.get(FECHA));
+  }
+
+  @Test
+  void elRechazoArmaElMensajeSoloAlLeerlo() {
+    AtomicInteger built = new AtomicInteger();
+    ValidationRules<TransactionInput> rules = ValidationRules.<TransactionInput>builder()
+      .rule(item -> false, RejectionReason.MONTO_NULO, item -> "Monto: " + built.incrementAndGet())
+      .build();
+    TransactionInput item = new TransactionInput(1L, "31/12/2024", null, "credito");
+
+    InvalidDataException rejection = rules.check(item).reject(item);
+
+    assertEquals(0, built.get());
+    assertEquals(RejectionReason.MONTO_NULO, rejection.getReason());
+    assertEquals("Monto: 1", rejection.getMessage());
+    assertEquals("Monto: 1", rejection.getMessage());
+  }
+
+  @Test
+  void excluyeValoresSinDistinguirMayusculasYExigePositivos() {
+    ValidationRules<InterestInput> rules = ValidationRules.<InterestInput>builder()
+      .notIn(InterestInput::getNombre, RejectionReason.NOMBRE_DESCONOCIDO, "Debe existir el nombre de cliente", "Unknown")
+      .positive(InterestInput::getEdad, RejectionReason.EDAD_INVALIDA, "Debe existir una edad válida")
+      .range(InterestInput::getSaldo, 0, 1_000_000, RejectionReason.SALDO_NULO, "Saldo fuera de rango")
+      .build();
+
+    assertEquals(RejectionReason.NOMBRE_DESCONOCIDO, rules.check(new InterestInput(1, "UNKNOWN", 10, 30, "ahorro")).getReason());
+    assertEquals(RejectionReason.EDAD_INVALIDA, rules.check(new InterestInput(1, "Jane", 10, 0, "ahorro")).getReason());
+    assertEquals(RejectionReason.EDAD_INVALIDA, rules.check(new InterestInput(1, "Jane", 10, null, "ahorro")).getReason());
+    assertEquals(RejectionReason.SALDO_NULO, rules.check(new InterestInput(1, "Jane", -5, 30, "ahorro")).getReason());
+    assertNull(rules.check(new InterestInput(1, "Jane", 10, 30, "ahorro")));
+  }
+
+}
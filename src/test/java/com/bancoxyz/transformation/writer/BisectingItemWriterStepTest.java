@@ -0,0 +1,115 @@
+package com.bancoxyz.transformation.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+/**
+ * Pruebas del BisectingItemWriter en un step tolerante a fallos real, con savepoints JDBC sobre
+ * H2: los registros aislados cuentan como omitidos y para skip-limit.
+ */
+class BisectingItemWriterStepTest {
+
+  private EmbeddedDatabase dataSource;
+  private JdbcTemplate jdbcTemplate;
+  private JdbcTransactionManager transactionManager;
+  private JobRepository jobRepository;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dataSource = new EmbeddedDatabaseBuilder()
+      .setType(EmbeddedDatabaseType.H2)
+      .generateUniqueName(true)
+      .addScript("/org/springframework/batch/core/schema-h2.sql")
+      .build();
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("create table tbl_valores (valor int not null check (valor >= 0))");
+    transactionManager = new JdbcTransactionManager(dataSource);
+
+    JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+    factory.setDataSource(dataSource);
+    factory.setTransactionManager(transactionManager);
+    factory.afterPropertiesSet();
+    jobRepository = factory.getObject();
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.shutdown();
+  }
+
+  @Test
+  void losRegistrosAisladosCuentanComoOmitidosSinRollbackDelChunk() throws Exception {
+    StepExecution stepExecution = run(values(25, 4, 17), 10);
+
+    assertEquals(BatchStatus.COMPLETED, stepExecution.getStatus());
+    assertEquals(23, stepExecution.getWriteCount());
+    assertEquals(2, stepExecution.getWriteSkipCount());
+    assertEquals(0, stepExecution.getRollbackCount());
+    assertEquals(23, jdbcTemplate.queryForObject("select count(*) from tbl_valores", Integer.class));
+  }
+
+  @Test
+  void elStepFallaAlSuperarElSkipLimitConRegistrosAislados() throws Exception {
+    StepExecution stepExecution = run(values(25, 4, 17), 1);
+
+    assertEquals(BatchStatus.FAILED, stepExecution.getStatus());
+    assertInstanceOf(SkipLimitExceededException.class, stepExecution.getFailureExceptions().get(0));
+    assertEquals(1, stepExecution.getWriteSkipCount());
+  }
+
+  /**
+   * Valores 0..count-1, negativos (rechazados por la tabla) en las posiciones indicadas.
+   */
+  private static List<Integer> values(int count, int... invalid) {
+    return IntStream.range(0, count)
+      .map(i -> IntStream.of(invalid).anyMatch(position -> position == i) ? -i : i)
+      .boxed()
+      .toList();
+  }
+
+  private StepExecution run(List<Integer> values, int skipLimit) throws Exception {
+    BisectingItemWriter<Integer> writer = new BisectingItemWriter<>(
+      chunk -> jdbcTemplate.batchUpdate("insert into tbl_valores (valor) values (?)",
+        chunk.getItems().stream().map(value -> new Object[] {value}).toList()),
+      dataSource, skipLimit);
+
+    Step step = new StepBuilder("valoresStep", jobRepository)
+      .<Integer, Integer>chunk(10, transactionManager)
+      .reader(new ListItemReader<>(values))
+      .writer(writer)
+      .faultTolerant()
+      .skip(DataIntegrityViolationException.class)
+      .skipLimit(skipLimit)
+      .build();
+
+    JobExecution jobExecution = jobRepository.createJobExecution("valoresJob", new JobParameters());
+    StepExecution stepExecution = jobExecution.createStepExecution(step.getName());
+    jobRepository.add(stepExecution);
+    step.execute(stepExecution);
+    return stepExecution;
+  }
+
+}
@@ -0,0 +1,88 @@
+package com.bancoxyz.transformation.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.SkipWrapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Pruebas unitarias del BisectingItemWriter: aislamiento de los registros culpables por mitades.
+ */
+class BisectingItemWriterTest {
+
+  private final Connection connection = mock(Connection.class);
+  private final DataSource dataSource = mock(DataSource.class);
+  private final List<List<Integer>> writes = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.setSavepoint()).thenReturn(mock(Savepoint.class));
+  }
+
+  private ItemWriter<Integer> failingOn(Set<Integer> invalid) {
+    return chunk -> {
+      writes.add(List.copyOf(chunk.getItems()));
+      if (chunk.getItems().stream().anyMatch(invalid::contains)) {
+        throw new DataIntegrityViolationException("registro inválido");
+      }
+    };
+  }
+
+  private Chunk<Integer> chunk(int size) {
+    return new Chunk<>(IntStream.range(0, size).boxed().toList());
+  }
+
+  @Test
+  void aislaLosRegistrosInvalidosPorMitades() throws Exception {
+    Chunk<Integer> chunk = chunk(16);
+    new BisectingItemWriter<>(failingOn(Set.of(5)), dataSource, 10).write(chunk);
+
+    assertEquals(15, chunk.size());
+    assertEquals(List.of(5), chunk.getSkips().stream().map(SkipWrapper::getItem).toList());
+    // Chunk completo, luego 2 escrituras por nivel de la búsqueda (16, 8, 4, 2 -> 1)
+    assertEquals(1 + 2 * 4, writes.size());
+    verify(connection, times(5)).rollback(any(Savepoint.class));
+  }
+
+  @Test
+  void propagaElErrorSiFallanTodosLosRegistros() {
+    Chunk<Integer> chunk = chunk(4);
+    BisectingItemWriter<Integer> writer = new BisectingItemWriter<>(failingOn(Set.of(0, 1, 2, 3)), dataSource, 10);
+
+    assertThrows(DataIntegrityViolationException.class, () -> writer.write(chunk));
+    assertEquals(4, chunk.size());
+  }
+
+  @Test
+  void noDivideElChunkConErroresTransitorios() {
+    BisectingItemWriter<Integer> writer = new BisectingItemWriter<>(chunk -> {
+      writes.add(List.copyOf(chunk.getItems()));
+      throw new QueryTimeoutException("timeout");
+    }, dataSource, 10);
+
+    assertThrows(QueryTimeoutException.class, () -> writer.write(chunk(8)));
+    assertEquals(1, writes.size());
+  }
+
+}
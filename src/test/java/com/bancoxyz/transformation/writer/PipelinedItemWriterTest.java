@@ -0,0 +1,71 @@
+package com.bancoxyz.transformation.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.lang.NonNull;
+
+import com.bancoxyz.transformation.exception.InvalidDataException;
+import com.bancoxyz.transformation.processor.PipelinedItemProcessor;
+import com.bancoxyz.transformation.processor.PipelinedItemProcessor.Result;
+
+/**
+ * Pruebas unitarias del PipelinedItemWriter: los rechazos del processor se quitan del chunk, se
+ * entregan a los skip listeners y se suman al filterCount del step.
+ */
+class PipelinedItemWriterTest {
+
+  private final StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution("transactionPipelinedStep", 20L);
+  private final List<Integer> written = new ArrayList<>();
+  private final List<Integer> rejected = new ArrayList<>();
+
+  private final PipelinedItemProcessor<Integer, Integer> processor = new PipelinedItemProcessor<>(item -> {
+    if (item < 0) {
+      throw new InvalidDataException("negativo");
+    }
+    return item;
+  }, new SyncTaskExecutor());
+
+  private final PipelinedItemWriter<Integer, Integer> writer = new PipelinedItemWriter<>(
+    chunk -> written.addAll(chunk.getItems()),
+    List.of(new SkipListener<Integer, Integer>() {
+      @Override
+      public void onSkipInProcess(@NonNull Integer item, @NonNull Throwable t) {
+        rejected.add(item);
+      }
+    }));
+
+  @AfterEach
+  void closeStep() {
+    StepSynchronizationManager.close();
+  }
+
+  @Test
+  void quitaLosRechazosDelChunkYLosCuentaComoFiltrados() throws Exception {
+    StepSynchronizationManager.register(stepExecution);
+    Chunk<Future<Result<Integer, Integer>>> chunk = new Chunk<>();
+    for (int item : new int[] {1, -2, 3, -4}) {
+      chunk.add(processor.process(item));
+    }
+
+    writer.write(chunk);
+    writer.afterStep(stepExecution);
+
+    assertEquals(List.of(1, 3), written);
+    assertEquals(List.of(-2, -4), rejected);
+    assertEquals(2, chunk.size());
+    assertEquals(2, stepExecution.getFilterCount());
+  }
+
+}
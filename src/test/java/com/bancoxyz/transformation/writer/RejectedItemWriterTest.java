@@ -0,0 +1,87 @@
+package com.bancoxyz.transformation.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import com.bancoxyz.transformation.model.input.TransactionInput;
+
+/**
+ * Pruebas unitarias del RejectedItemWriter: cada JobExecution escribe su propio archivo, y un
+ * step sin el archivo de su ejecución abierto (worker remoto) escribe uno propio.
+ */
+class RejectedItemWriterTest {
+
+  @TempDir
+  Path dir;
+
+  private static TransactionInput item(long id) {
+    TransactionInput input = new TransactionInput();
+    input.setId(id);
+    input.setFecha("fecha");
+    input.setTipo("invalid");
+    return input;
+  }
+
+  private static void addDuringStep(RejectedItemWriter<TransactionInput> writer, JobExecution jobExecution, long id) {
+    StepExecution stepExecution = jobExecution.createStepExecution("transactionStep");
+    StepSynchronizationManager.register(stepExecution);
+    try {
+      writer.add(item(id));
+    } finally {
+      StepSynchronizationManager.close();
+    }
+  }
+
+  @Test
+  void separaLosRegistrosPorEjecucion() throws Exception {
+    RejectedItemWriter<TransactionInput> writer =
+      new RejectedItemWriter<>(dir.resolve("errores.csv").toString(), "id", "fecha", "monto", "tipo");
+    JobExecution first = MetaDataInstanceFactory.createJobExecution("transactionJob", 1L, 10L);
+    JobExecution second = MetaDataInstanceFactory.createJobExecution("transactionJob", 2L, 11L);
+
+    Path firstFile = writer.open(first);
+    Path secondFile = writer.open(second);
+    addDuringStep(writer, first, 1);
+    addDuringStep(writer, second, 2);
+    addDuringStep(writer, first, 3);
+
+    assertEquals(2, writer.close(first));
+    assertEquals(1, writer.close(second));
+    assertEquals(dir.resolve("errores-10.csv"), firstFile);
+    assertEquals(firstFile.toString(), first.getExecutionContext().getString(RejectedItemWriter.ERROR_FILE_KEY));
+    assertEquals(List.of("id,fecha,monto,tipo", "1,fecha,,invalid", "3,fecha,,invalid"), Files.readAllLines(firstFile));
+    assertEquals(List.of("id,fecha,monto,tipo", "2,fecha,,invalid"), Files.readAllLines(secondFile));
+  }
+
+  @Test
+  void unStepSinElArchivoDelJobEscribeElSuyo() throws Exception {
+    RejectedItemWriter<TransactionInput> writer =
+      new RejectedItemWriter<>(dir.resolve("errores.csv").toString(), "id", "fecha", "monto", "tipo");
+    JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("transactionJob", 1L, 10L);
+    StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobExecution, "transactionWorkerStep:partition0", 20L);
+
+    writer.beforeStep(stepExecution);
+    StepSynchronizationManager.register(stepExecution);
+    try {
+      writer.add(item(1));
+    } finally {
+      StepSynchronizationManager.close();
+    }
+    writer.afterStep(stepExecution);
+
+    Path stepFile = dir.resolve("errores-10-20.csv");
+    assertEquals(stepFile.toString(), stepExecution.getExecutionContext().getString(RejectedItemWriter.ERROR_FILE_KEY));
+    assertEquals(List.of("id,fecha,monto,tipo", "1,fecha,,invalid"), Files.readAllLines(stepFile));
+  }
+
+}
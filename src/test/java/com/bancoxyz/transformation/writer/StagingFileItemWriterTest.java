@@ -0,0 +1,131 @@
+package com.bancoxyz.transformation.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bancoxyz.transformation.model.entity.AnnualAccount;
+
+/**
+ * Pruebas unitarias del StagingFileItemWriter: formato de las líneas y descarte, al reiniciar
+ * o al hacer rollback, de lo escrito después del último commit.
+ */
+class StagingFileItemWriterTest {
+
+  @TempDir
+  Path dir;
+
+  private final StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution("annualAccountStep", 20L);
+
+  private StagingFileItemWriter<AnnualAccount> writer() {
+    StepSynchronizationManager.register(stepExecution);
+    return new StagingFileItemWriter<>("annualAccount", dir, account -> new Object[] {
+      account.getAccountId(), account.getDate(), account.getTransactionType(), account.getAmount(), account.getTransactionDescription()});
+  }
+
+  private static AnnualAccount account(int accountId, String description) {
+    return new AnnualAccount(null, accountId, LocalDate.of(2024, 6, 30), "deposito", 100, description);
+  }
+
+  @AfterEach
+  void closeStep() {
+    StepSynchronizationManager.close();
+  }
+
+  @Test
+  void escribeTextosEntreComillasYNulosSinComillas() throws Exception {
+    StagingFileItemWriter<AnnualAccount> writer = writer();
+    ExecutionContext context = new ExecutionContext();
+    writer.open(context);
+    writer.write(Chunk.of(account(1, "Pago \"anual\", cuota 1"), account(2, null)));
+    writer.close();
+
+    assertEquals(List.of(
+        "1,2024-06-30,\"deposito\",100,\"Pago \"\"anual\"\", cuota 1\"",
+        "2,2024-06-30,\"deposito\",100,NULL"),
+      Files.readAllLines(Path.of(context.getString(StagingFileItemWriter.fileKey("annualAccount")))));
+  }
+
+  @Test
+  void alReiniciarDescartaLoEscritoTrasElUltimoCommit() throws Exception {
+    StagingFileItemWriter<AnnualAccount> writer = writer();
+    ExecutionContext context = new ExecutionContext();
+    writer.open(context);
+    writer.write(Chunk.of(account(1, "confirmado")));
+    writer.update(context);
+    writer.write(Chunk.of(account(2, "sin confirmar")));
+    writer.close();
+
+    writer.open(context);
+    writer.write(Chunk.of(account(3, "reintento")));
+    writer.close();
+
+    List<String> lines = Files.readAllLines(Path.of(context.getString(StagingFileItemWriter.fileKey("annualAccount"))));
+    assertEquals(2, lines.size());
+    assertEquals("1,2024-06-30,\"deposito\",100,\"confirmado\"", lines.get(0));
+    assertEquals("3,2024-06-30,\"deposito\",100,\"reintento\"", lines.get(1));
+  }
+
+  @Test
+  void elRollbackDeUnChunkDescartaSusLineasYElReintentoNoLasDuplica() throws Exception {
+    StagingFileItemWriter<AnnualAccount> writer = writer();
+    ExecutionContext context = new ExecutionContext();
+    writer.open(context);
+
+    inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+      writer.write(Chunk.of(account(1, "confirmado")));
+      writer.update(context);
+    });
+    // Falla el commit después de agregar las líneas del chunk al archivo
+    inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+      writer.write(Chunk.of(account(2, "reintento")));
+      writer.update(context);
+    });
+    inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+      writer.write(Chunk.of(account(2, "reintento")));
+      writer.update(context);
+    });
+    writer.close();
+
+    Path file = Path.of(context.getString(StagingFileItemWriter.fileKey("annualAccount")));
+    assertEquals(List.of(
+        "1,2024-06-30,\"deposito\",100,\"confirmado\"",
+        "2,2024-06-30,\"deposito\",100,\"reintento\""),
+      Files.readAllLines(file));
+    assertEquals(Files.size(file), context.getLong(StagingFileItemWriter.SIZE_KEY));
+  }
+
+  /**
+   * Simula la transacción de un chunk que termina con {@code status}.
+   */
+  private static void inTransaction(int status, ChunkWork work) throws Exception {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      work.run();
+      for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+        synchronization.afterCompletion(status);
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private interface ChunkWork {
+    void run() throws Exception;
+  }
+
+}